@@ -0,0 +1,250 @@
+package passgen;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the generator's hot paths: whole passwords (one
+ * at a time, and in batches), the word-finding, filler and trimming
+ * steps they're made from, and each kind of random number source.
+ * Each result is reported as throughput (ops/s) along with
+ * gc.alloc.rate.norm, the bytes allocated per operation.
+ * Build and run them from the folder containing "data_words":
+ *
+ *   mvn -B package
+ *   java -jar benchmarks/target/benchmarks.jar [JMH options]
+ *
+ * Any of the usual JMH options can be given (for example,
+ * "-p lengthRange=12-24" to run just one length range).
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Benchmarks
+{
+	/**
+	 * Main method - runs the benchmarks through JMH's own launcher
+	 * (so every JMH option, like "-l" or "-h", works), with the GC
+	 * profiler turned on so bytes per op are always reported.
+	 * @param args - the JMH command-line options
+	 * @throws IOException if JMH can't read its options
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		String[] withProfiler = Arrays.copyOf(args, args.length + 2);
+		withProfiler[args.length] = "-prof";
+		withProfiler[args.length + 1] = "gc";
+		Main.main(withProfiler);
+	}
+
+
+	// ------------------------ States ------------------------ //
+	/**
+	 * A generator and the settings to make passwords with: every
+	 * length range, with numbers, symbols and underscores each on
+	 * and off.
+	 */
+	@State(Scope.Thread)
+	public static class PolicyState
+	{
+		@Param({"8-12", "12-24", "24-40"})
+		public String lengthRange;
+		@Param({"false", "true"})
+		public boolean numbers;
+		@Param({"false", "true"})
+		public boolean symbols;
+		@Param({"false", "true"})
+		public boolean underscores;
+
+		Generator gen;				// the generator being measured
+		GenerationPolicy policy;	// the settings to make passwords with
+		RandomSource random;		// a fast source, so it doesn't dominate
+		StringBuilder sb;			// a reusable buffer
+
+		@Setup
+		public void setUp()
+		{
+			int[] range = parseRange(lengthRange);
+			gen = new Generator();
+			gen.setShowProgress(false);
+			policy = new GenerationPolicy(numbers, symbols, underscores, range[0], range[1], 0);
+			gen.setPolicy(policy);
+			random = RandomSource.fast();
+			sb = new StringBuilder(64);
+		}
+	}
+
+	/**
+	 * A WordFinder, and the longest word to ask it for (the top of
+	 * each length range).
+	 */
+	@State(Scope.Thread)
+	public static class WordState
+	{
+		@Param({"8-12", "12-24", "24-40"})
+		public String lengthRange;
+
+		WordFinder finder;			// the finder being measured
+		int maxLength;				// the longest word to find
+		RandomSource random;		// a fast source, so it doesn't dominate
+		StringBuilder sb;			// a reusable buffer
+
+		@Setup
+		public void setUp()
+		{
+			finder = new WordFinder(new Generator().getUserData());
+			maxLength = parseRange(lengthRange)[1];
+			random = RandomSource.fast();
+			sb = new StringBuilder(64);
+		}
+	}
+
+	/**
+	 * A generator, and a buffer holding a password to trim.
+	 */
+	@State(Scope.Thread)
+	public static class TrimState
+	{
+		Generator gen;				// the generator being measured
+		StringBuilder sb;			// a reusable buffer
+
+		@Setup
+		public void setUp()
+		{
+			gen = new Generator();
+			sb = new StringBuilder(64);
+		}
+	}
+
+	/**
+	 * Each kind of random number source, and a generator using it,
+	 * making batches of passwords of each size.
+	 */
+	@State(Scope.Thread)
+	public static class SourceState
+	{
+		@Param({"pooled", "secure", "fast", "seeded"})
+		public String source;
+		@Param({"1", "100", "10000"})
+		public int batch;
+
+		RandomSource random;		// the source being measured
+		Generator gen;				// a generator using it (default settings)
+
+		@Setup
+		public void setUp()
+		{
+			switch (source)
+			{
+				case "pooled":	random = RandomSource.pooled(); break;
+				case "secure":	random = RandomSource.secure(); break;
+				case "fast":	random = RandomSource.fast(); break;
+				default:		random = RandomSource.seeded(1); break;
+			}
+			gen = new Generator();
+			gen.setShowProgress(false);
+			gen.setRandomSource(random);
+		}
+	}
+
+
+	// ---------------------- Benchmarks ---------------------- //
+	@Benchmark
+	public String makePassword(PolicyState s)
+	{
+		return s.gen.makePassword(s.policy, s.random);
+	}
+
+	@Benchmark
+	public GeneratedPassword makeRatedPassword(PolicyState s)
+	{
+		return s.gen.makeRatedPassword(s.policy, s.random);
+	}
+
+	@Benchmark
+	public double appendFiller(PolicyState s)
+	{
+		s.sb.setLength(0);
+		return s.gen.appendFiller(s.sb, s.policy, s.random);
+	}
+
+	@Benchmark
+	public int trimPassword(TrimState s)
+	{
+		s.sb.setLength(0);
+		s.sb.append("snowman_carrot_");
+		s.gen.trimPassword(s.sb);
+		return s.sb.length();
+	}
+
+	@Benchmark
+	public String getRandomWord(WordState s)
+	{
+		return s.finder.getRandomWord(s.maxLength, s.random);
+	}
+
+	@Benchmark
+	public int drawAndAppendWord(WordState s)
+	{
+		s.sb.setLength(0);
+		s.finder.appendWord(s.finder.drawWord(s.maxLength, s.random), s.sb);
+		return s.sb.length();
+	}
+
+	@Benchmark
+	public int nextInt(SourceState s)
+	{
+		return s.random.nextInt(100);
+	}
+
+	@Benchmark
+	public long nextLong(SourceState s)
+	{
+		return s.random.nextLong();
+	}
+
+	/**
+	 * Makes a whole batch of passwords per operation (so ops/s here
+	 * is batches per second).
+	 * @param s - the source and batch size to use
+	 * @return the passwords
+	 */
+	@Benchmark
+	public String[] makePasswords(SourceState s)
+	{
+		return s.gen.makePasswords(s.batch);
+	}
+
+
+	// ----------------------- Helpers ------------------------ //
+	/**
+	 * Helper function that reads a length range, like "12-24".
+	 * @param range - the range to read
+	 * @return an array of two ints - the lower and upper bounds
+	 */
+	static int[] parseRange(String range)
+	{
+		String[] bounds = range.split("-");
+		return new int[] {Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1])};
+	}
+
+}
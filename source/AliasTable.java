@@ -0,0 +1,117 @@
+package passgen;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks one of n choices at random, each with its own weight, in
+ * constant time no matter how many choices there are (Walker's alias
+ * method, set up with Vose's algorithm). Every choice gets a column
+ * of the same height; a column holds some of its own choice's weight,
+ * topped up with weight "borrowed" from one other choice (its alias).
+ * A draw picks a column uniformly, then either its own choice or its
+ * alias, with one more random number.
+ *
+ * Building a table takes O(n) time. A table never changes once it's
+ * built, so it can be shared between threads.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class AliasTable
+{
+	private final double[] probability;	// the chance each column keeps its own choice
+	private final int[] alias;			// the choice each column borrows from
+	private final double totalWeight;	// the sum of every weight
+
+	/**
+	 * Constructs an AliasTable for the given weights.
+	 * @param weights - each choice's weight (none negative, and at
+	 * 		  least one above zero)
+	 * @throws IllegalArgumentException if the weights can't be used
+	 */
+	public AliasTable(double[] weights)
+	{
+		int n = weights.length;
+		double total = 0;
+		for (double w : weights)
+		{
+			if (!(w >= 0) || Double.isInfinite(w))
+			{ throw new IllegalArgumentException("Weights must be finite and non-negative"); }
+			total += w;
+		}
+		if (n == 0 || total <= 0)
+		{ throw new IllegalArgumentException("At least one weight must be above zero"); }
+		totalWeight = total;
+
+		// scale the weights so the average column is exactly 1 high,
+		// and sort the columns into those under and over that height
+		probability = new double[n];
+		alias = new int[n];
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int i = 0; i < n; i++)
+		{
+			scaled[i] = weights[i] * n / total;
+			if (scaled[i] < 1)
+			{ small[smallCount++] = i; }
+			else
+			{ large[largeCount++] = i; }
+		}
+
+		// fill each short column with weight from a tall one
+		while (smallCount > 0 && largeCount > 0)
+		{
+			int less = small[--smallCount];
+			int more = large[--largeCount];
+			probability[less] = scaled[less];
+			alias[less] = more;
+			scaled[more] = (scaled[more] + scaled[less]) - 1;
+			if (scaled[more] < 1)
+			{ small[smallCount++] = more; }
+			else
+			{ large[largeCount++] = more; }
+		}
+
+		// whatever's left over is (up to rounding error) exactly 1 high
+		while (largeCount > 0)
+		{ probability[large[--largeCount]] = 1; }
+		while (smallCount > 0)
+		{ probability[small[--smallCount]] = 1; }
+	}
+
+
+	// ------------------------ Drawing ----------------------- //
+	/**
+	 * Picks a choice at random, with each choice's chance in
+	 * proportion to its weight.
+	 * @param random - the random number generator to use
+	 * @return the position of the choice picked
+	 */
+	public int sample(RandomGenerator random)
+	{
+		int column = random.nextInt(probability.length);
+		return random.nextDouble() < probability[column] ? column : alias[column];
+	}
+
+	/**
+	 * Retrieves the number of choices in the table.
+	 * @return the choice count
+	 */
+	public int size()
+	{
+		return probability.length;
+	}
+
+	/**
+	 * Retrieves the sum of every weight the table was built from.
+	 * @return the total weight
+	 */
+	public double getTotalWeight()
+	{
+		return totalWeight;
+	}
+
+}
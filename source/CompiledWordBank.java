@@ -0,0 +1,190 @@
+package passgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A WordBank loaded from a binary bank file made by WordBankCompiler.
+ * The file is memory-mapped in one go, and all of its tables are read
+ * in place, so nothing has to be parsed at startup. The layout is:
+ *
+ *   header        magic, version, source stamp/size, word count,
+ *                 payload size, longest word length, source count
+ *   sources       the index of the first word from each word file
+ *   offsets       where each word begins in the payload (count + 1)
+ *   bucket starts where each length's words begin in the buckets
+ *   buckets       every word index, sorted by word length
+ *   payload       every word's UTF-8 bytes, packed together
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class CompiledWordBank implements WordBank
+{
+	static final int MAGIC = 0x53504742;	// "SPGB"
+	static final int VERSION = 1;			// the current format version
+	static final int HEADER_SIZE = 40;		// the size of the header, in bytes
+
+	private MappedByteBuffer buffer;	// the mapped contents of the bank file
+	private long sourceStamp;			// newest modification time of the word files
+	private long sourceSize;			// total size of the word files
+	private int count;					// the number of words in the bank
+	private int maxLength;				// the length of the longest word
+	private int[] sourceStarts;			// the first word index from each word file
+	private IntBuffer offsets;			// where each word begins in the payload
+	private IntBuffer bucketStarts;		// where each length begins in the buckets
+	private IntBuffer buckets;			// every word index, sorted by length
+	private int payloadStart;			// where the payload begins in the file
+
+	/**
+	 * Constructs a CompiledWordBank by mapping the given bank file
+	 * and checking its header.
+	 * @param bankFile - the bank file to load
+	 * @throws IOException if the file can't be mapped, or isn't a valid bank
+	 */
+	public CompiledWordBank(File bankFile) throws IOException
+	{
+		FileChannel channel = FileChannel.open(bankFile.toPath(), StandardOpenOption.READ);
+		try
+		{
+			long size = channel.size();
+			if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+			{ throw new IOException("Not a word bank: " + bankFile); }
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		finally
+		{
+			channel.close();
+		}
+
+		// read and check the header
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+		{ throw new IOException("Not a word bank (or an old version): " + bankFile); }
+		sourceStamp = buffer.getLong(8);
+		sourceSize = buffer.getLong(16);
+		count = buffer.getInt(24);
+		int payloadSize = buffer.getInt(28);
+		maxLength = buffer.getInt(32);
+		int sourceCount = buffer.getInt(36);
+
+		// make sure the file is exactly as long as the header says
+		long expected = HEADER_SIZE + 4L * sourceCount + 4L * (count + 1)
+					  + 4L * (maxLength + 2) + 4L * count + payloadSize;
+		if (count < 0 || maxLength < 0 || sourceCount < 0 || payloadSize < 0
+			|| expected != buffer.limit())
+		{ throw new IOException("Word bank is corrupt: " + bankFile); }
+
+		// locate each table within the mapping
+		int pos = HEADER_SIZE;
+		sourceStarts = new int[sourceCount];
+		for (int i = 0; i < sourceCount; i++)
+		{ sourceStarts[i] = buffer.getInt(pos + 4 * i); }
+		pos += 4 * sourceCount;
+		offsets = buffer.slice(pos, 4 * (count + 1)).asIntBuffer();
+		pos += 4 * (count + 1);
+		bucketStarts = buffer.slice(pos, 4 * (maxLength + 2)).asIntBuffer();
+		pos += 4 * (maxLength + 2);
+		buckets = buffer.slice(pos, 4 * count).asIntBuffer();
+		pos += 4 * count;
+		payloadStart = pos;
+	}
+
+
+	// -------------------- Getter Methods -------------------- //
+	@Override
+	public int getWordCount()
+	{
+		return count;
+	}
+
+	@Override
+	public String getWord(int index)
+	{
+		byte[] bytes = new byte[getLength(index)];
+		buffer.get(payloadStart + offsets.get(index), bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void appendWord(int index, StringBuilder sb)
+	{
+		MappedWordBank.appendBytes(buffer, payloadStart + offsets.get(index), getLength(index), sb);
+	}
+
+	@Override
+	public int getLength(int index)
+	{
+		return offsets.get(index + 1) - offsets.get(index);
+	}
+
+	/**
+	 * Estimates how much heap the bank is using. Every table lives
+	 * in the mapped file, so only the small source table counts.
+	 * @return the approximate footprint, in bytes
+	 */
+	@Override
+	public long getFootprint()
+	{
+		return 16L + 4L * sourceStarts.length;
+	}
+
+	/**
+	 * Retrieves where each word file's words begin in the bank
+	 * (the words from file i are numbered from getSourceStarts()[i]
+	 * up to the next file's start).
+	 * @return an array of word indexes (a copy)
+	 */
+	public int[] getSourceStarts()
+	{
+		return sourceStarts.clone();
+	}
+	
+	/**
+	 * Retrieves the length of the longest word in the bank.
+	 * @return the longest word length, in bytes
+	 */
+	public int getMaxLength()
+	{
+		return maxLength;
+	}
+
+	/**
+	 * Retrieves where the words of the given length begin in the
+	 * length buckets. (Words of length L sit between
+	 * getBucketStart(L) and getBucketStart(L + 1).)
+	 * @param length - the word length (0 to getMaxLength() + 1)
+	 * @return the position of the first word of that length
+	 */
+	public int getBucketStart(int length)
+	{
+		return bucketStarts.get(length);
+	}
+
+	/**
+	 * Retrieves the word index stored at the given position
+	 * in the length buckets.
+	 * @param position - the position in the buckets
+	 * @return the index of a word
+	 */
+	public int getBucketWord(int position)
+	{
+		return buckets.get(position);
+	}
+
+	/**
+	 * Determines whether the bank was compiled from word files
+	 * matching the given fingerprint (see WordBankCompiler).
+	 * @param fingerprint - the word files' {newest modification time, total size}
+	 * @return a boolean indicating whether the bank is up to date
+	 */
+	public boolean matchesSources(long[] fingerprint)
+	{
+		return sourceStamp == fingerprint[0] && sourceSize == fingerprint[1];
+	}
+
+}
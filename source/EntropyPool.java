@@ -0,0 +1,225 @@
+package passgen;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A cryptographically secure RandomSource that never makes the
+ * generating thread wait on SecureRandom. A background thread keeps
+ * a few large blocks of SecureRandom bytes filled and ready; each
+ * EntropyPool source works through one block at a time, swapping
+ * it for a fresh one when it runs out, and handing the spent block
+ * back to be refilled.
+ *
+ * Bounded numbers (nextInt(bound)) are drawn with rejection sampling
+ * straight from the buffered bytes, using only as many bytes as the
+ * bound needs (one byte for anything up to 256), so the results are
+ * exactly uniform and little of the entropy goes to waste.
+ *
+ * A single source isn't meant to be shared between threads; split()
+ * gives another thread its own source, fed by the same background
+ * thread.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class EntropyPool implements RandomSource
+{
+	private static final int BLOCK_SIZE = 64 * 1024;	// bytes in each block
+	private static final int READY_BLOCKS = 4;			// blocks kept filled and waiting
+
+	private static Filler sharedFiller;	// the background thread used by default
+
+	private Filler filler;				// the background thread feeding this source
+	private byte[] block;				// the block currently being used
+	private int position;				// the next unused byte in the block
+
+	/**
+	 * Constructs an EntropyPool fed by the shared background thread
+	 * (starting it, if it hasn't been started yet).
+	 */
+	public EntropyPool()
+	{
+		this(getSharedFiller());
+	}
+
+	/**
+	 * Constructs an EntropyPool fed by the given background thread.
+	 * @param f - the Filler to take blocks from
+	 */
+	private EntropyPool(Filler f)
+	{
+		filler = f;
+		block = null;
+		position = BLOCK_SIZE;
+	}
+
+	/**
+	 * Helper function that retrieves the shared background
+	 * thread, starting it the first time it's needed.
+	 * @return the shared Filler
+	 */
+	private static synchronized Filler getSharedFiller()
+	{
+		if (sharedFiller == null)
+		{ sharedFiller = new Filler(); }
+		return sharedFiller;
+	}
+
+
+	// ------------------- Random Numbers -------------------- //
+	@Override
+	public int nextInt()
+	{
+		return (nextByte() << 24) | (nextByte() << 16) | (nextByte() << 8) | nextByte();
+	}
+
+	@Override
+	public long nextLong()
+	{
+		return ((long) nextInt() << 32) | (nextInt() & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Draws a uniformly random number from 0 (inclusive) to bound
+	 * (exclusive), by rejection sampling on as few bytes as possible.
+	 * @param bound - the upper bound (must be positive)
+	 * @return the random number
+	 */
+	@Override
+	public int nextInt(int bound)
+	{
+		if (bound <= 0)
+		{ throw new IllegalArgumentException("bound must be positive"); }
+
+		// figure out how many bytes it takes to cover the bound
+		int bytes = 1;
+		long range = 256;
+		while (range < bound)
+		{
+			bytes++;
+			range <<= 8;
+		}
+
+		// only accept values below the largest multiple of the
+		// bound that fits in the range, so every result is
+		// equally likely
+		long limit = range - range % bound;
+		while (true)
+		{
+			long value = 0;
+			for (int i = 0; i < bytes; i++)
+			{ value = (value << 8) | nextByte(); }
+			if (value < limit)
+			{ return (int) (value % bound); }
+		}
+	}
+
+	@Override
+	public RandomSource split()
+	{
+		return new EntropyPool(filler);
+	}
+
+	/**
+	 * Helper function that hands out the next buffered byte,
+	 * swapping in a freshly-filled block when this one runs out.
+	 * @return the byte, from 0 to 255
+	 */
+	private int nextByte()
+	{
+		if (position == BLOCK_SIZE)
+		{
+			block = filler.swap(block);
+			position = 0;
+		}
+		return block[position++] & 0xFF;
+	}
+
+
+	// ------------------ Background Filling ------------------ //
+	/**
+	 * The background thread that keeps blocks of SecureRandom bytes
+	 * filled. Spent blocks come back through one queue, get refilled,
+	 * and go back out through the other, so blocks are reused rather
+	 * than allocated over and over.
+	 *
+	 * @author Connor Shugg
+	 * @version 2026-10-17
+	 */
+	private static class Filler implements Runnable
+	{
+		private SecureRandom secure;			// where the random bytes come from
+												// (only used by the filler thread)
+		private BlockingQueue<byte[]> ready;	// filled blocks, waiting to be used
+		private BlockingQueue<byte[]> spent;	// used blocks, waiting to be refilled
+
+		/**
+		 * Constructs a Filler and starts its (daemon) thread. Seeding
+		 * the SecureRandom can take a while, so the thread does that
+		 * too, rather than holding up whoever's starting it.
+		 */
+		public Filler()
+		{
+			ready = new ArrayBlockingQueue<byte[]>(READY_BLOCKS);
+			spent = new ArrayBlockingQueue<byte[]>(READY_BLOCKS * 2);
+
+			Thread thread = new Thread(this, "passplant-entropy");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		@Override
+		public void run()
+		{
+			secure = new SecureRandom();
+			try
+			{
+				while (true)
+				{
+					// reuse a spent block if there is one
+					byte[] b = spent.poll();
+					if (b == null)
+					{ b = new byte[BLOCK_SIZE]; }
+
+					// fill it, then wait for room in the ready queue
+					secure.nextBytes(b);
+					ready.put(b);
+				}
+			}
+			catch (InterruptedException e)
+			{
+				// the thread is only interrupted at shutdown
+			}
+		}
+
+		/**
+		 * Hands back a spent block (if there is one), and takes
+		 * a filled one. This only waits if the background thread
+		 * has somehow fallen behind.
+		 * @param old - the spent block, or null
+		 * @return a block full of fresh random bytes
+		 */
+		public byte[] swap(byte[] old)
+		{
+			if (old != null)
+			{ spent.offer(old); }
+
+			try
+			{
+				return ready.take();
+			}
+			catch (InterruptedException e)
+			{
+				// if the wait is interrupted, fill a block right here
+				// instead, rather than hand back nothing
+				Thread.currentThread().interrupt();
+				byte[] b = new byte[BLOCK_SIZE];
+				new SecureRandom().nextBytes(b);
+				return b;
+			}
+		}
+	}
+
+}
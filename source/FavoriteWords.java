@@ -0,0 +1,361 @@
+package passgen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * The user's favorite words, kept so that every operation the
+ * generator needs is constant-time: adding a word, removing one,
+ * checking whether a word is already there, and picking one at random.
+ * The words sit packed together in a list (so a random position is
+ * always a word), and a hash map remembers where each word sits (so
+ * looking one up never means searching the list). Removing a word
+ * moves the last word into its spot, keeping the list packed.
+ *
+ * Each word also has a weight (1 by default), and random picks favor
+ * heavier words in proportion. The positions are split into blocks of
+ * BLOCK_SIZE, each with its own small AliasTable, and one more table
+ * picks between the blocks (by their total weights). A pick is a draw
+ * from each, so it stays constant-time however many words (and
+ * weights) there are. A change to a word only marks its block as out
+ * of date; the next pick rebuilds just the blocks that changed, then
+ * the table over the blocks - so an edit costs a block's worth of
+ * work (plus one number per block), not a whole new table, and a run
+ * of changes (like loading a whole file of words) still only costs
+ * one rebuild.
+ *
+ * Removing a word changes the position of the last word, so
+ * positions are only good until the words are next changed.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class FavoriteWords
+{
+	private ArrayList<String> words;			// every word, packed together
+	private HashMap<String, Integer> positions;	// where each word is in 'words'
+	private double[] weights;					// each word's weight (same order)
+	private double totalWeight;					// the sum of every weight
+	private volatile int version;				// counts every change to the words
+
+	private static final int BLOCK_SIZE = 64;	// the number of positions in each block
+
+	private double[] blockWeights;				// each block's total weight
+	private AliasTable[] blockTables;			// each block's table (or null, if
+												// its words weigh nothing)
+	private boolean[] blockChanged;				// whether each block has changed
+												// since its table was built
+	private volatile Sampler sampler;			// for weighted picks (or null, if
+												// the words changed since it was built)
+
+	/**
+	 * Constructs an empty set of favorite words.
+	 */
+	public FavoriteWords()
+	{
+		words = new ArrayList<String>();
+		positions = new HashMap<String, Integer>();
+		weights = new double[BLOCK_SIZE];
+		totalWeight = 0;
+		version = 0;
+		blockWeights = new double[1];
+		blockTables = new AliasTable[1];
+		blockChanged = new boolean[1];
+		sampler = null;
+	}
+
+
+	// -------------------- Getter Methods -------------------- //
+	/**
+	 * Retrieves the number of favorite words.
+	 * @return the word count
+	 */
+	public int size()
+	{
+		return words.size();
+	}
+
+	/**
+	 * Retrieves the word at the given position.
+	 * @param position - the position (0 to size() - 1)
+	 * @return a string - the word
+	 */
+	public String get(int position)
+	{
+		return words.get(position);
+	}
+
+	/**
+	 * Retrieves the weight of the word at the given position.
+	 * @param position - the position (0 to size() - 1)
+	 * @return the word's weight
+	 */
+	public double getWeight(int position)
+	{
+		return weights[position];
+	}
+
+	/**
+	 * Retrieves the chance that sample() picks the word at the
+	 * given position (its share of the total weight).
+	 * @param position - the position (0 to size() - 1)
+	 * @return the probability, from 0 to 1
+	 */
+	public double getProbability(int position)
+	{
+		return totalWeight > 0 ? weights[position] / totalWeight : 0;
+	}
+
+	/**
+	 * Retrieves a number that changes whenever a word is added,
+	 * reweighted or removed, so anything worked out from the words
+	 * can tell when it needs working out again.
+	 * @return the current version
+	 */
+	public int getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Determines whether the given word is a favorite.
+	 * @param word - the word to look for
+	 * @return a boolean indicating if the word was found
+	 */
+	public boolean contains(String word)
+	{
+		return positions.containsKey(word);
+	}
+
+	/**
+	 * Picks a position at random, with each word's chance in
+	 * proportion to its weight.
+	 * @param random - the random number generator to use
+	 * @return the position of a word, or -1 if there are no words
+	 * 		   (or they all weigh nothing)
+	 */
+	public int sample(RandomGenerator random)
+	{
+		Sampler current = sampler;
+		if (current == null)
+		{
+			current = rebuildSampler();
+			if (current == null)
+			{ return -1; }
+		}
+		return current.sample(random);
+	}
+
+	/**
+	 * Copies every word into a new array (in their current order).
+	 * @return an array of strings - the words
+	 */
+	public String[] toArray()
+	{
+		return words.toArray(new String[words.size()]);
+	}
+
+
+	// -------------------- Setter Methods -------------------- //
+	/**
+	 * Adds a word (with a weight of 1), unless it's already a favorite.
+	 * @param word - the word to add
+	 * @return a boolean - true if the word was added
+	 */
+	public boolean add(String word)
+	{
+		return add(word, 1);
+	}
+
+	/**
+	 * Adds a word with the given weight, unless it's already a favorite.
+	 * @param word - the word to add
+	 * @param weight - the word's weight (not negative)
+	 * @return a boolean - true if the word was added
+	 * @throws IllegalArgumentException if the weight is negative
+	 */
+	public boolean add(String word, double weight)
+	{
+		checkWeight(weight);
+		if (positions.putIfAbsent(word, words.size()) != null)
+		{ return false; }
+
+		if (words.size() == weights.length)
+		{
+			weights = Arrays.copyOf(weights, weights.length * 2);
+			int blocks = weights.length / BLOCK_SIZE;
+			blockWeights = Arrays.copyOf(blockWeights, blocks);
+			blockTables = Arrays.copyOf(blockTables, blocks);
+			blockChanged = Arrays.copyOf(blockChanged, blocks);
+		}
+		weights[words.size()] = weight;
+		changed(words.size());
+		words.add(word);
+		totalWeight += weight;
+		return true;
+	}
+
+	/**
+	 * Changes the weight of a favorite word.
+	 * @param word - the word to change
+	 * @param weight - the word's new weight (not negative)
+	 * @return a boolean - true if the word was found
+	 * @throws IllegalArgumentException if the weight is negative
+	 */
+	public boolean setWeight(String word, double weight)
+	{
+		checkWeight(weight);
+		Integer position = positions.get(word);
+		if (position == null)
+		{ return false; }
+
+		totalWeight += weight - weights[position];
+		weights[position] = weight;
+		changed(position);
+		return true;
+	}
+
+	/**
+	 * Removes a word (if it's a favorite), by moving the last word
+	 * into its spot.
+	 * @param word - the word to remove
+	 * @return a boolean - true if the word was removed
+	 */
+	public boolean remove(String word)
+	{
+		Integer position = positions.remove(word);
+		if (position == null)
+		{ return false; }
+
+		int last = words.size() - 1;
+		totalWeight -= weights[position];
+		String moved = words.remove(last);
+		if (position != last)
+		{
+			words.set(position, moved);
+			weights[position] = weights[last];
+			positions.put(moved, position);
+			changed(position);
+		}
+		changed(last);
+		return true;
+	}
+
+	/**
+	 * Removes every word.
+	 */
+	public void clear()
+	{
+		words.clear();
+		positions.clear();
+		totalWeight = 0;
+		sampler = null;
+		version++;
+	}
+
+	/**
+	 * Helper function that makes sure a weight can be used.
+	 * @param weight - the weight to check
+	 * @throws IllegalArgumentException if the weight is negative (or not a number)
+	 */
+	private static void checkWeight(double weight)
+	{
+		if (!(weight >= 0) || Double.isInfinite(weight))
+		{ throw new IllegalArgumentException("Word weights must be finite and non-negative"); }
+	}
+
+	/**
+	 * Helper function that notes a change to the word at the given
+	 * position, marking its block to be rebuilt.
+	 * @param position - the position that changed
+	 */
+	private void changed(int position)
+	{
+		blockChanged[position / BLOCK_SIZE] = true;
+		sampler = null;
+		version++;
+	}
+
+	/**
+	 * Helper function that rebuilds the tables used for weighted picks:
+	 * the table for each block that's changed, then the table over the
+	 * blocks (summing the weights up afresh, so rounding errors from
+	 * many changes don't build up). After clear(), every block is
+	 * refilled from its first position up, so every block that holds
+	 * words again has been marked as changed.
+	 * @return the new Sampler, or null if nothing can be picked
+	 */
+	private synchronized Sampler rebuildSampler()
+	{
+		if (sampler != null)
+		{ return sampler; }
+
+		int count = words.size();
+		int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		double[] totals = new double[blocks];
+		double total = 0;
+		for (int b = 0; b < blocks; b++)
+		{
+			if (blockChanged[b])
+			{
+				int start = b * BLOCK_SIZE;
+				int end = Math.min(count, start + BLOCK_SIZE);
+				double sum = 0;
+				for (int i = start; i < end; i++)
+				{ sum += weights[i]; }
+				blockWeights[b] = sum;
+				blockTables[b] = sum > 0 ? new AliasTable(Arrays.copyOfRange(weights, start, end)) : null;
+				blockChanged[b] = false;
+			}
+			totals[b] = blockWeights[b];
+			total += totals[b];
+		}
+		totalWeight = total;
+		if (total <= 0)
+		{ return null; }
+
+		sampler = new Sampler(new AliasTable(totals), Arrays.copyOf(blockTables, blocks));
+		return sampler;
+	}
+
+
+	// --------------------- Weighted Picks -------------------- //
+	/**
+	 * The tables for one version of the words: one for each block, and
+	 * one to pick between the blocks. Never changed once it's made, so
+	 * it can be shared between threads.
+	 *
+	 * @author Connor Shugg
+	 * @version 2026-10-17
+	 */
+	private static class Sampler
+	{
+		private final AliasTable top;		// picks a block, by its total weight
+		private final AliasTable[] blocks;	// picks a word within each block
+
+		/**
+		 * Constructs a Sampler
+		 * @param t - the table over the blocks
+		 * @param b - each block's table (null for blocks that weigh nothing)
+		 */
+		Sampler(AliasTable t, AliasTable[] b)
+		{
+			top = t;
+			blocks = b;
+		}
+
+		/**
+		 * Picks a position at random: a block, then a word in it.
+		 * @param random - the random number generator to use
+		 * @return the position picked
+		 */
+		int sample(RandomGenerator random)
+		{
+			int block = top.sample(random);
+			return block * BLOCK_SIZE + blocks[block].sample(random);
+		}
+	}
+
+}
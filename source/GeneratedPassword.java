@@ -0,0 +1,54 @@
+package passgen;
+
+/**
+ * A password made by the Generator, along with an estimate of how
+ * hard it is to guess: its entropy, in bits. Each bit doubles the
+ * number of guesses an attacker who knows exactly how the password
+ * was generated (word banks, settings and all) would expect to need.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class GeneratedPassword
+{
+	private final String password;		// the password itself
+	private final double entropy;		// the password's entropy, in bits
+
+	/**
+	 * Constructs a GeneratedPassword.
+	 * @param password - the password itself
+	 * @param entropy - the password's entropy, in bits
+	 */
+	public GeneratedPassword(String password, double entropy)
+	{
+		this.password = password;
+		this.entropy = entropy;
+	}
+
+
+	// -------------------- Getter Methods -------------------- //
+	/**
+	 * Retrieves the password itself.
+	 * @return a string - the password
+	 */
+	public String getPassword()
+	{
+		return password;
+	}
+
+	/**
+	 * Retrieves the password's entropy.
+	 * @return the entropy, in bits
+	 */
+	public double getEntropy()
+	{
+		return entropy;
+	}
+
+	@Override
+	public String toString()
+	{
+		return password;
+	}
+
+}
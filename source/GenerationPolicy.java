@@ -0,0 +1,173 @@
+package passgen;
+
+/**
+ * An immutable set of password settings: whether to use numbers,
+ * symbols and underscores, the range of lengths to make passwords in,
+ * and the fewest bits of entropy a password may have. A policy never
+ * changes once it's made (the "with" methods make a new one), so one
+ * can be handed to any number of threads at once, and a Generator can
+ * make passwords under different policies side by side without any
+ * locking.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public final class GenerationPolicy
+{
+	// the settings the generator starts out with
+	public static final GenerationPolicy DEFAULT =
+			new GenerationPolicy(false, false, false, 12, 24, 0);
+
+	private final boolean useNumbers;		// whether passwords contain numbers
+	private final boolean useSymbols;		// whether passwords contain symbols
+	private final boolean useUnderscores;	// whether passwords contain underscores
+	private final int minLength;			// the shortest a password should be
+	private final int maxLength;			// the longest a password can be
+	private final double minEntropy;		// the fewest bits of entropy a password
+											// can have before it's made again
+
+	/**
+	 * Constructs a GenerationPolicy. If the length bounds are
+	 * backwards, they're swapped.
+	 * @param numbers - whether passwords contain numbers
+	 * @param symbols - whether passwords contain symbols
+	 * @param underscores - whether passwords contain underscores
+	 * @param lowerBound - the shortest a password should be
+	 * @param upperBound - the longest a password can be
+	 * @param bits - the minimum entropy, in bits (0 to allow anything)
+	 */
+	public GenerationPolicy(boolean numbers, boolean symbols, boolean underscores,
+							int lowerBound, int upperBound, double bits)
+	{
+		useNumbers = numbers;
+		useSymbols = symbols;
+		useUnderscores = underscores;
+		minLength = Math.min(lowerBound, upperBound);
+		maxLength = Math.max(lowerBound, upperBound);
+		minEntropy = bits;
+	}
+
+
+	// -------------------- Getter Methods -------------------- //
+	/**
+	 * Retrieves whether passwords contain numbers
+	 * @return a boolean, indicating number usage
+	 */
+	public boolean getUseNumbers()
+	{
+		return useNumbers;
+	}
+
+	/**
+	 * Retrieves whether passwords contain symbols
+	 * @return a boolean, indicating symbol usage
+	 */
+	public boolean getUseSymbols()
+	{
+		return useSymbols;
+	}
+
+	/**
+	 * Retrieves whether passwords contain underscores
+	 * @return a boolean, indicating underscore usage
+	 */
+	public boolean getUseUnderscores()
+	{
+		return useUnderscores;
+	}
+
+	/**
+	 * Retrieves the shortest a password should be
+	 * @return the lower bound of the length range
+	 */
+	public int getMinLength()
+	{
+		return minLength;
+	}
+
+	/**
+	 * Retrieves the longest a password can be
+	 * @return the upper bound of the length range
+	 */
+	public int getMaxLength()
+	{
+		return maxLength;
+	}
+
+	/**
+	 * Retrieves the minimum entropy a password must have
+	 * @return the minimum entropy, in bits
+	 */
+	public double getMinimumEntropy()
+	{
+		return minEntropy;
+	}
+
+
+	// ------------------- Modified Copies -------------------- //
+	/**
+	 * Makes a copy of this policy with number usage changed
+	 * @param numbers - whether passwords contain numbers
+	 * @return the new policy
+	 */
+	public GenerationPolicy withNumbers(boolean numbers)
+	{
+		return new GenerationPolicy(numbers, useSymbols, useUnderscores,
+									minLength, maxLength, minEntropy);
+	}
+
+	/**
+	 * Makes a copy of this policy with symbol usage changed
+	 * @param symbols - whether passwords contain symbols
+	 * @return the new policy
+	 */
+	public GenerationPolicy withSymbols(boolean symbols)
+	{
+		return new GenerationPolicy(useNumbers, symbols, useUnderscores,
+									minLength, maxLength, minEntropy);
+	}
+
+	/**
+	 * Makes a copy of this policy with underscore usage changed
+	 * @param underscores - whether passwords contain underscores
+	 * @return the new policy
+	 */
+	public GenerationPolicy withUnderscores(boolean underscores)
+	{
+		return new GenerationPolicy(useNumbers, useSymbols, underscores,
+									minLength, maxLength, minEntropy);
+	}
+
+	/**
+	 * Makes a copy of this policy with a different length range
+	 * (swapped, if the bounds are backwards)
+	 * @param lowerBound - the shortest a password should be
+	 * @param upperBound - the longest a password can be
+	 * @return the new policy
+	 */
+	public GenerationPolicy withLengthRange(int lowerBound, int upperBound)
+	{
+		return new GenerationPolicy(useNumbers, useSymbols, useUnderscores,
+									lowerBound, upperBound, minEntropy);
+	}
+
+	/**
+	 * Makes a copy of this policy with a different minimum entropy
+	 * @param bits - the minimum entropy, in bits (0 to allow anything)
+	 * @return the new policy
+	 */
+	public GenerationPolicy withMinimumEntropy(double bits)
+	{
+		return new GenerationPolicy(useNumbers, useSymbols, useUnderscores,
+									minLength, maxLength, bits);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "numbers=" + (useNumbers ? "on" : "off") + " symbols=" + (useSymbols ? "on" : "off")
+			 + " underscores=" + (useUnderscores ? "on" : "off") + " length=" + minLength + "-"
+			 + maxLength + " minbits=" + minEntropy;
+	}
+
+}
@@ -1,312 +1,795 @@
-package passgen;
-
-import java.io.File;
-import java.nio.file.Paths;
-import java.util.Random;
-import java.util.Scanner;
-
-/**
- * This class serves as the brains of the entire operation.
- * Holds a reference to UserData, and uses it, along with
- * any input given to generate passwords.
- * 
- * @author Connor Shugg
- * @version 2019-2-15
- */
-public class Generator
-{
-	private UserData user;				// Reference to UserData object
-	private WordFinder finder;			// Reference to a WordFinder object - for
-										// retrieving random words
-	private Random rand;				// Random reference used to generate random
-										// numbers, word, etc.
-	
-	private boolean useUnderscores;		// whether or not to generate passwords
-										// containing underscores
-	private boolean useSymbols;			// whether or not to generate passwords
-										// containing symbols
-	private boolean useNumbers;			// whether or not to generate passwords
-										// containing numbers
-	private int[] lengthRange;			// the range determining how long to
-										// make each password
-	
-	/**
-	 * Default constructor: Initializes the UserData class,
-	 * so that previously-saved data is read and stored.
-	 */
-	public Generator()
-	{
-		user = new UserData();
-		finder = new WordFinder(user);
-		rand = new Random();
-		
-		// set up default preferences
-		useUnderscores = false;
-		useSymbols = false;
-		useNumbers = false;
-		
-		lengthRange = new int[2];
-		lengthRange[0] = 12;
-		lengthRange[1] = 24;
-	}
-	
-	
-	// -------------------- Getter Methods -------------------- //
-	/**
-	 * Retrieves the generator's UserData.
-	 * @return UserData object instance
-	 */
-	public UserData getUserData()
-	{
-		return user;
-	}
-	
-	/**
-	 * Retrieves whether or not the generator is set to
-	 * us underscores in password generation
-	 * @return a boolean, indicating underscore usage
-	 */
-	public boolean getUseUnderscores()
-	{
-		return useUnderscores;
-	}
-	
-	/**
-	 * Retrieves whether or not the generator is set to
-	 * us symbols in password generation
-	 * @return a boolean, indicating symbol usage
-	 */
-	public boolean getUseSymbols()
-	{
-		return useSymbols;
-	}
-	
-	/**
-	 * Retrieves whether or not the generator is set to
-	 * us numbers in password generation
-	 * @return a boolean, indicating number usage
-	 */
-	public boolean getUseNumbers()
-	{
-		return useNumbers;
-	}
-	
-	
-	// -------------------- Setter Methods -------------------- //
-	/**
-	 * Sets the indicator boolean on whether or not to
-	 * use underscores to generate passwords
-	 * @param preference - the user's preference (yes or no)
-	 */
-	public void userWantsUnderscores(boolean preference)
-	{
-		useUnderscores = preference;
-	}
-	
-	/**
-	 * Sets the indicator boolean on whether or not to
-	 * use symbols to generate passwords
-	 * @param preference - the user's preference (yes or no)
-	 */
-	public void userWantsSymbols(boolean preference)
-	{
-		useSymbols = preference;
-	}
-	
-	/**
-	 * Sets the indicator boolean on whether or not to
-	 * use numbers to generate passwords
-	 * @param preference - the user's preference (yes or no)
-	 */
-	public void userWantsNumbers(boolean preference)
-	{
-		useNumbers = preference;
-	}
-	
-	/**
-	 * Sets the range of the length the user wants for
-	 * their passwords
-	 * @param lowerBound - the lower bound of the range
-	 * @param upperBound - the upper bound of the range
-	 */
-	public void setLengthRange(int lowerBound, int upperBound)
-	{
-		// make sure the lower bound is indeed lower than the upper.
-		// if that's not the case, swap them!
-		if (lowerBound > upperBound)
-		{
-			int temp = upperBound;
-			upperBound = lowerBound;
-			lowerBound = temp;
-		}
-		
-		// set the generator's range
-		lengthRange[0] = lowerBound;
-		lengthRange[1] = upperBound;
-	}
-	
-	/**
-	 * Sets the Generator's UserData to the given UserData object
-	 * @param u - the new UserData
-	 */
-	public void setUserData(UserData u)
-	{
-		user = u;
-	}
-	
-	
-	// ----------------- Password Generation ------------------ //
-	/**
-	 * Generates 'count' number of passwords, returning them as
-	 * an array of strings.
-	 * @param count - the number of passwords to generate
-	 * @return an array of strings, containing the created passwords
-	 */
-	public String[] makePasswords(int count)
-	{
-		// just in case the user decides to generate zero passwords...
-		if (count == 0)
-		{ return null; }
-		
-		// otherwise.. get on with it!
-		String[] passwords = new String[count];
-		
-		// perform the same password-creation process for
-		// every password
-		for (int i = 0; i < count; i++)
-		{
-			// first, determine a random length for the password
-			// (based inclusively on both ends of the range)
-			int length = rand.nextInt(lengthRange[1] - lengthRange[0] + 1) + lengthRange[0];
-			
-			passwords[i] = "";
-			int wordCount = 0;
-			
-			// append random words (with numbers, symbols, or underscores
-			// in between) one at a time, until the desired length is reached
-			while (passwords[i].length() < length)
-			{
-				String word = finder.getRandomWord();
-				
-				// if the loop is on the second+ word,
-				// AND the user doesn't want underscores,
-				// make the first letter of the word upper-case
-				if (wordCount > 0 && !useUnderscores && !word.equals(""))
-				{
-					String firstLetter = String.valueOf(word.charAt(0));
-					firstLetter = firstLetter.toUpperCase();
-					word = firstLetter + word.substring(1, word.length());
-				}
-				
-				// if adding the word will go over the upper bound for the
-				// password's length, don't add anything else to the password
-				if (passwords[i].length() + word.length() <= lengthRange[1])				
-				{
-					// ONLY add the password to the word if the word isn't
-					// already IN the password
-					if (!passwords[i].contains(word))
-					{
-						// add the word to the password
-						passwords[i] += word;
-						wordCount++;
-					
-						// add some filler in-between 				
-						passwords[i] += makeFiller();
-					}
-				}
-			}
-			
-			// trim the password a little before moving
-			// onto the next one
-			passwords[i] = trimPassword(passwords[i]);
-			
-			// provide some output to the console
-			System.out.print("\rFinished " + (i + 1) + "/" + count);
-		}
-		System.out.println();
-		
-		// return the created passwords
-		return passwords;
-	}
-	
-	/**
-	 * Helper function for makePasswords that generates a small
-	 * string of symbols, numbers, and underscores to fill the
-	 * space in between words in a password
-	 * @return a string - the filler generated
-	 */
-	private String makeFiller()
-	{
-		String filler = "";
-		// UNDERSCORE PLACEMENT: Use a random integer to determine
-		// whether to place the underscore after the word, or after
-		// "nextPiece".
-		int underscorePosition = rand.nextInt(100);
-		if (useUnderscores && underscorePosition < 50)
-		{
-			filler += "_";
-		}
-		
-		// insert a random symbol or number (if the user wants it)
-		if (useNumbers && rand.nextInt(100) < 35)
-		{
-			filler += rand.nextInt(100);
-		}
-		if (useSymbols && rand.nextInt(100) < 35)
-		{
-			filler += getRandomSymbol();
-		}				
-		
-		// UNDERSCORE PLACEMENT: If the underscore wasn't placed above
-		// (before) "nextPiece", place it here
-		if (useUnderscores && underscorePosition >= 50)
-		{
-			filler += "_";
-		}
-		
-		return filler;
-	}
-	
-	/**
-	 * Helper function that trims off some select pieces from
-	 * the end of the password (such as underscores)
-	 * @param password - the password to modify
-	 * @param desiredLength - the length the password SHOULD be
-	 * @return a string - the modified password
-	 */
-	private String trimPassword(String password)
-	{		
-		// if the last character is an underscore, remove it
-		if (password.charAt(password.length() - 1) == '_')
-		{
-			password = password.substring(0, password.length() - 1);
-		}
-		
-		// return the modified password
-		return password;
-	}
-	
-	/**
-	 * Generates and returns a random symbol.
-	 * @return a string containing a single symbol
-	 */
-	private String getRandomSymbol()
-	{
-		// source I used to get the symbols:
-		// https://www.owasp.org/index.php/Password_special_characters
-		
-		//String[] symbols = {"!", "\"", "#", "$", "%", "&", "'", "(",
-		//					")", "*", "+", ",", "-", ".", "/", ":",
-		//					";", "<", "=", ">", "?", "@", "[", "\\",
-		//					"]", "^", "", "`", "{", "|", "}", "~"};
-		
-		String[] symbols = {"!", "#", "$", "%", "&", ".", ",", "-", "@",
-							"(", ")", ":", ";", "<", ">", "?", "*", "~"};
-		
-		// generate a random index and return that
-		// particular symbol
-		return symbols[rand.nextInt(symbols.length)];
-	}
-	
-	
-}
+package passgen;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * This class serves as the brains of the entire operation.
+ * Holds a reference to UserData, and uses it, along with
+ * any input given to generate passwords.
+ * 
+ * @author Connor Shugg
+ * @version 2019-2-15
+ */
+public class Generator
+{
+	private UserData user;				// Reference to UserData object
+	private WordFinder finder;			// Reference to a WordFinder object - for
+										// retrieving random words
+	private RandomSource rand;			// RandomSource used to generate random
+										// numbers, word, etc.
+	
+	private volatile GenerationPolicy policy;	// the settings passwords are made
+												// with, unless a call passes its own
+	private IssuedPasswords issued;		// every password handed out so far (or
+										// null, if repeats are allowed)
+	private boolean showProgress;		// whether to report progress on the
+										// console while making a batch
+	private CompletableFuture<Void> userLoaded;	// finishes once 'user' is loaded
+	private volatile CompletableFuture<Void> loaded;	// finishes once 'user' and 'finder'
+													// are both loaded (and set up)
+	
+	private static final int SLICE_SIZE = 1024;	// the most passwords a single
+												// parallel task will make
+	private static final int MAX_ATTEMPTS = 100;	// the most times a password will be
+												// remade to reach the minimum entropy
+	private static final int MAX_REDRAWS = 1000;	// the most repeated words drawn in a row
+												// before a password is called done
+	
+	// runs each background loading job on its own daemon thread
+	private static final Executor LOADER = task -> {
+		Thread thread = new Thread(task, "passplant-loader");
+		thread.setDaemon(true);
+		thread.start();
+	};
+	
+	// each thread's reusable buffer for putting passwords together
+	private static final ThreadLocal<StringBuilder> BUFFER =
+			ThreadLocal.withInitial(() -> new StringBuilder(64));
+	// each thread's reusable set of the words already in a password
+	private static final ThreadLocal<WordIdSet> USED_WORDS =
+			ThreadLocal.withInitial(WordIdSet::new);
+	
+	// source I used to get the symbols:
+	// https://www.owasp.org/index.php/Password_special_characters
+	
+	//String[] symbols = {"!", "\"", "#", "$", "%", "&", "'", "(",
+	//					")", "*", "+", ",", "-", ".", "/", ":",
+	//					";", "<", "=", ">", "?", "@", "[", "\\",
+	//					"]", "^", "", "`", "{", "|", "}", "~"};
+	private static final char[] SYMBOLS = {'!', '#', '$', '%', '&', '.', ',', '-', '@',
+										   '(', ')', ':', ';', '<', '>', '?', '*', '~'};
+	
+	// the entropy (in bits) of each filler choice: a number shows up
+	// 35% of the time (and is one of 100), a symbol shows up 35% of
+	// the time (and is one of SYMBOLS.length)
+	private static final double NUMBER_BITS = -log2(0.35 / 100);
+	private static final double NO_NUMBER_BITS = -log2(0.65);
+	private static final double SYMBOL_BITS = -log2(0.35 / SYMBOLS.length);
+	private static final double NO_SYMBOL_BITS = -log2(0.65);
+	
+	/**
+	 * Default constructor: Initializes the UserData class,
+	 * so that previously-saved data is read and stored.
+	 */
+	public Generator()
+	{
+		this(false);
+	}
+	
+	/**
+	 * Constructs a Generator, loading the UserData and the word
+	 * index either right away or in the background. In the
+	 * background, the two load side by side while the constructor
+	 * returns at once; anything that needs one of them (making a
+	 * password, or getUserData()) waits for it to finish, if it
+	 * hasn't already.
+	 * @param background - whether to load in the background
+	 */
+	public Generator(boolean background)
+	{
+		if (background)
+		{
+			CompletableFuture<UserData> userLoad =
+					CompletableFuture.supplyAsync(UserData::new, LOADER);
+			CompletableFuture<WordIndex> indexLoad =
+					CompletableFuture.supplyAsync(WordIndex::getShared, LOADER);
+			userLoaded = userLoad.thenAccept(u -> user = u);
+			loaded = userLoaded.thenCombine(indexLoad, (ignored, index) -> new WordFinder(user, index))
+							   .thenAccept(f -> finder = f);
+		}
+		else
+		{
+			user = new UserData();
+			finder = new WordFinder(user);
+			userLoaded = CompletableFuture.completedFuture(null);
+			loaded = userLoaded;
+		}
+		rand = RandomSource.pooled();
+		
+		// set up default preferences (no numbers, symbols or
+		// underscores, 12 to 24 characters, any entropy)
+		policy = GenerationPolicy.DEFAULT;
+		issued = null;
+		showProgress = true;
+	}
+	
+	
+	// -------------------- Getter Methods -------------------- //
+	/**
+	 * Retrieves the generator's UserData.
+	 * @return UserData object instance
+	 */
+	public UserData getUserData()
+	{
+		userLoaded.join();
+		return user;
+	}
+	
+	/**
+	 * Retrieves whether the UserData and the word index have
+	 * finished loading (so making a password won't have to wait).
+	 * @return a boolean, indicating whether loading is done
+	 */
+	public boolean isLoaded()
+	{
+		return loaded.isDone();
+	}
+	
+	/**
+	 * Retrieves a future that finishes once the UserData and the
+	 * word index have loaded (or fails, if loading them did).
+	 * @return the loading future
+	 */
+	public CompletableFuture<Void> whenLoaded()
+	{
+		return loaded;
+	}
+	
+	/**
+	 * Runs a job once the UserData and the word index have loaded,
+	 * but before any password is made with them (so a job that sets
+	 * up the word index doesn't hold up loading on this thread). If
+	 * they've already loaded, the job runs right away.
+	 * @param job - the job to run
+	 */
+	public synchronized void afterLoading(Runnable job)
+	{
+		loaded = loaded.thenRun(job);
+	}
+	
+	/**
+	 * Retrieves whether or not the generator is set to
+	 * us underscores in password generation
+	 * @return a boolean, indicating underscore usage
+	 */
+	public boolean getUseUnderscores()
+	{
+		return policy.getUseUnderscores();
+	}
+	
+	/**
+	 * Retrieves whether or not the generator is set to
+	 * us symbols in password generation
+	 * @return a boolean, indicating symbol usage
+	 */
+	public boolean getUseSymbols()
+	{
+		return policy.getUseSymbols();
+	}
+	
+	/**
+	 * Retrieves whether or not the generator is set to
+	 * us numbers in password generation
+	 * @return a boolean, indicating number usage
+	 */
+	public boolean getUseNumbers()
+	{
+		return policy.getUseNumbers();
+	}
+	
+	/**
+	 * Retrieves whether the generator reports its progress on the
+	 * console while making a batch of passwords
+	 * @return a boolean, indicating whether progress is shown
+	 */
+	public boolean getShowProgress()
+	{
+		return showProgress;
+	}
+	
+	/**
+	 * Retrieves where the generator gets its random numbers from
+	 * @return the RandomSource
+	 */
+	public RandomSource getRandomSource()
+	{
+		return rand;
+	}
+	
+	/**
+	 * Retrieves the range of lengths the generator makes
+	 * passwords in
+	 * @return an array of {lower bound, upper bound} (a copy)
+	 */
+	public int[] getLengthRange()
+	{
+		GenerationPolicy current = policy;
+		return new int[] {current.getMinLength(), current.getMaxLength()};
+	}
+	
+	/**
+	 * Retrieves the minimum entropy a password must have
+	 * @return the minimum entropy, in bits
+	 */
+	public double getMinimumEntropy()
+	{
+		return policy.getMinimumEntropy();
+	}
+	
+	/**
+	 * Retrieves the settings the generator makes passwords with
+	 * (unless a call passes its own)
+	 * @return the current GenerationPolicy
+	 */
+	public GenerationPolicy getPolicy()
+	{
+		return policy;
+	}
+	
+	/**
+	 * Retrieves the record of passwords the generator has handed
+	 * out, if it's making sure none are repeated
+	 * @return the IssuedPasswords, or null if repeats are allowed
+	 */
+	public IssuedPasswords getUniquePasswords()
+	{
+		return issued;
+	}
+	
+	
+	// -------------------- Setter Methods -------------------- //
+	/**
+	 * Sets the indicator boolean on whether or not to
+	 * use underscores to generate passwords
+	 * @param preference - the user's preference (yes or no)
+	 */
+	public void userWantsUnderscores(boolean preference)
+	{
+		policy = policy.withUnderscores(preference);
+	}
+	
+	/**
+	 * Sets the indicator boolean on whether or not to
+	 * use symbols to generate passwords
+	 * @param preference - the user's preference (yes or no)
+	 */
+	public void userWantsSymbols(boolean preference)
+	{
+		policy = policy.withSymbols(preference);
+	}
+	
+	/**
+	 * Sets the indicator boolean on whether or not to
+	 * use numbers to generate passwords
+	 * @param preference - the user's preference (yes or no)
+	 */
+	public void userWantsNumbers(boolean preference)
+	{
+		policy = policy.withNumbers(preference);
+	}
+	
+	/**
+	 * Sets the range of the length the user wants for
+	 * their passwords
+	 * @param lowerBound - the lower bound of the range
+	 * @param upperBound - the upper bound of the range
+	 */
+	public void setLengthRange(int lowerBound, int upperBound)
+	{
+		// (if the lower bound is higher than the upper,
+		// the policy swaps them)
+		policy = policy.withLengthRange(lowerBound, upperBound);
+	}
+	
+	/**
+	 * Sets the minimum entropy a password must have. Any password
+	 * with fewer bits than this is thrown away and made again.
+	 * @param bits - the minimum entropy, in bits (0 to allow anything)
+	 */
+	public void setMinimumEntropy(double bits)
+	{
+		policy = policy.withMinimumEntropy(bits);
+	}
+	
+	/**
+	 * Sets the settings the generator makes passwords with (the
+	 * setters above are shortcuts for changing one setting at a time)
+	 * @param p - the new GenerationPolicy
+	 */
+	public void setPolicy(GenerationPolicy p)
+	{
+		policy = p;
+	}
+	
+	/**
+	 * Sets where the generator gets its random numbers from
+	 * (a secure EntropyPool by default)
+	 * @param source - the new RandomSource
+	 */
+	public void setRandomSource(RandomSource source)
+	{
+		rand = source;
+	}
+	
+	/**
+	 * Sets whether the generator reports its progress on the console
+	 * while making a batch of passwords (turn it off to keep the
+	 * output machine-readable)
+	 * @param show - whether to show progress
+	 */
+	public void setShowProgress(boolean show)
+	{
+		showProgress = show;
+	}
+	
+	/**
+	 * Makes the generator check every password against a record of
+	 * the passwords it's already handed out, so none is ever given
+	 * out twice. Any password found in the record is made again.
+	 * @param record - the record to check against and add to (or
+	 * 		  null, to allow repeats)
+	 */
+	public void setUniquePasswords(IssuedPasswords record)
+	{
+		issued = record;
+	}
+	
+	/**
+	 * Sets the Generator's UserData to the given UserData object
+	 * @param u - the new UserData
+	 */
+	public void setUserData(UserData u)
+	{
+		// (the one being loaded mustn't replace this one later)
+		userLoaded.join();
+		user = u;
+	}
+	
+	
+	// ----------------- Password Generation ------------------ //
+	/**
+	 * Generates 'count' number of passwords, returning them as
+	 * an array of strings.
+	 * @param count - the number of passwords to generate
+	 * @return an array of strings, containing the created passwords
+	 */
+	public String[] makePasswords(int count)
+	{
+		// just in case the user decides to generate zero passwords...
+		if (count == 0)
+		{ return null; }
+		
+		// otherwise.. get on with it!
+		String[] passwords = new String[count];
+		
+		// perform the same password-creation process for
+		// every password, while (maybe) another thread keeps
+		// the console up to date on how it's going
+		GenerationPolicy current = policy;
+		ProgressReporter progress = startProgress(count);
+		for (int i = 0; i < count; i++)
+		{
+			passwords[i] = makePassword(current, rand);
+			if (progress != null)
+			{ progress.set(i + 1); }
+		}
+		if (progress != null)
+		{ progress.finish(); }
+		
+		// return the created passwords
+		return passwords;
+	}
+	
+	/**
+	 * Generates 'count' number of passwords as a stream. Each
+	 * password is only made when the stream asks for the next one,
+	 * so they can be written out as they're produced, without
+	 * holding the whole batch in memory.
+	 * @param count - the number of passwords to generate
+	 * @return a (sequential) stream of the created passwords
+	 */
+	public Stream<String> streamPasswords(long count)
+	{
+		GenerationPolicy current = policy;
+		return Stream.generate(() -> makePassword(current, rand)).limit(count);
+	}
+	
+	/**
+	 * Generates 'count' number of passwords in parallel, returning
+	 * them as an array of strings. The work is split into slices
+	 * across a fork-join pool; each slice fills in its own part of
+	 * the array, using its own RandomSource (split off from the
+	 * generator's).
+	 * @param count - the number of passwords to generate
+	 * @return an array of strings, containing the created passwords
+	 */
+	public String[] makePasswordsParallel(int count)
+	{
+		// just in case the user decides to generate zero passwords...
+		if (count == 0)
+		{ return null; }
+		
+		String[] passwords = new String[count];
+		ProgressReporter progress = startProgress(count);
+		ForkJoinPool.commonPool().invoke(new PasswordTask(passwords, 0, count, policy,
+														  rand.split(), progress));
+		if (progress != null)
+		{ progress.finish(); }
+		
+		return passwords;
+	}
+	
+	/**
+	 * Generates a single password, along with an estimate of how
+	 * hard it is to guess (see buildPassword()).
+	 * @return the new password and its entropy
+	 */
+	public GeneratedPassword makeRatedPassword()
+	{
+		return makeRatedPassword(policy, rand);
+	}
+	
+	/**
+	 * Generates 'count' number of passwords as a stream, each along
+	 * with an estimate of how hard it is to guess. (Like
+	 * streamPasswords(), nothing is made until it's asked for.)
+	 * @param count - the number of passwords to generate
+	 * @return a (sequential) stream of the created passwords
+	 */
+	public Stream<GeneratedPassword> streamRatedPasswords(long count)
+	{
+		GenerationPolicy current = policy;
+		return Stream.generate(() -> makeRatedPassword(current, rand)).limit(count);
+	}
+	
+	/**
+	 * Helper function that starts reporting progress on a batch of
+	 * passwords, unless progress reporting is turned off.
+	 * @param count - the number of passwords in the batch
+	 * @return the ProgressReporter, or null if progress isn't shown
+	 */
+	private ProgressReporter startProgress(long count)
+	{
+		if (!showProgress)
+		{ return null; }
+		return new ProgressReporter(count, System.out);
+	}
+	
+	/**
+	 * Generates a single password with the given settings, using the
+	 * given random number generator for every random choice along the
+	 * way. Nothing about the generator itself is read or changed
+	 * (apart from the shared words, and the record of issued passwords),
+	 * so any number of threads can call this at once, each with its
+	 * own settings and random number generator, without locking.
+	 * The password is put together in this thread's reusable buffer,
+	 * so the finished String is the only thing allocated.
+	 * @param settings - the GenerationPolicy to follow
+	 * @param random - the random number generator to use (not shared
+	 * 		  with other threads)
+	 * @return a string - the new password
+	 */
+	public String makePassword(GenerationPolicy settings, RandomGenerator random)
+	{
+		buildStrongPassword(settings, random);
+		return BUFFER.get().toString();
+	}
+	
+	/**
+	 * Generates a single password with the given settings, along with
+	 * an estimate of how hard it is to guess. (Like makePassword(),
+	 * it's safe to call from any number of threads at once.)
+	 * @param settings - the GenerationPolicy to follow
+	 * @param random - the random number generator to use (not shared
+	 * 		  with other threads)
+	 * @return the new password and its entropy
+	 */
+	public GeneratedPassword makeRatedPassword(GenerationPolicy settings, RandomGenerator random)
+	{
+		double bits = buildStrongPassword(settings, random);
+		return new GeneratedPassword(BUFFER.get().toString(), bits);
+	}
+	
+	/**
+	 * Helper function that builds a password in this thread's buffer,
+	 * rebuilding it until it meets the minimum entropy. If that takes
+	 * more than MAX_ATTEMPTS tries, the settings probably can't reach
+	 * the minimum at all, so an exception is thrown (rather than
+	 * handing out a password weaker than was asked for).
+	 * If the generator is making sure passwords are never repeated,
+	 * the password is also rebuilt until it's one that hasn't been
+	 * handed out before. That has to hold no matter what, so if
+	 * MAX_ATTEMPTS new tries are all repeats, an exception is thrown.
+	 * @param settings - the GenerationPolicy to follow
+	 * @param random - the random number generator to use
+	 * @return the password's entropy, in bits
+	 * @throws IllegalStateException if no password strong enough (or
+	 * 		   no new password) could be found
+	 */
+	private double buildStrongPassword(GenerationPolicy settings, RandomGenerator random)
+	{
+		// wait for the words, if they're still loading
+		loaded.join();
+		
+		StringBuilder password = BUFFER.get();
+		IssuedPasswords record = issued;
+		double minEntropy = settings.getMinimumEntropy();
+		for (int round = 0; round < MAX_ATTEMPTS; round++)
+		{
+			double bits = buildPassword(password, settings, random);
+			for (int i = 1; i < MAX_ATTEMPTS && bits < minEntropy; i++)
+			{ bits = buildPassword(password, settings, random); }
+			if (bits < minEntropy)
+			{
+				throw new IllegalStateException("Couldn't make a password with at least "
+												+ Math.round(minEntropy) + " bits of entropy; "
+												+ "try a longer length range");
+			}
+			
+			if (record == null || record.addIfNew(password))
+			{ return bits; }
+		}
+		throw new IllegalStateException("Couldn't make a password that hasn't been "
+										+ "handed out before; try a longer length range");
+	}
+	
+	/**
+	 * Helper function that builds a single password into the given
+	 * buffer. While it does, it adds up the password's entropy: the
+	 * number of bits of surprise in each random choice that shows up
+	 * in the password (each word, and each piece of filler). The
+	 * random length picked at the start isn't counted, since the
+	 * length mostly follows from the words that were picked.
+	 * @param password - the buffer to build the password in
+	 * @param settings - the GenerationPolicy to follow
+	 * @param random - the random number generator to use
+	 * @return the password's entropy, in bits
+	 */
+	private double buildPassword(StringBuilder password, GenerationPolicy settings,
+								 RandomGenerator random)
+	{
+		// first, determine a random length for the password
+		// (based inclusively on both ends of the range)
+		int minLength = settings.getMinLength();
+		int maxLength = settings.getMaxLength();
+		int length = random.nextInt(maxLength - minLength + 1) + minLength;
+		
+		password.setLength(0);
+		WordIdSet usedWords = USED_WORDS.get();
+		usedWords.clear();
+		int wordCount = 0;
+		int redraws = 0;
+		double bits = 0;
+		
+		// append random words (with numbers, symbols, or underscores
+		// in between) one at a time, until the desired length is reached
+		while (password.length() < length)
+		{
+			// only ask for words that can still fit in the password
+			int room = maxLength - password.length();
+			int word = finder.drawWord(room, random);
+			
+			// if no word is short enough, the password is done
+			if (word < 0)
+			{ break; }
+			
+			// ONLY add the word if it isn't already IN the password.
+			// (So the words already in it were never really a choice,
+			// and the word's bits are counted without them.) If word
+			// after word is a repeat, nearly every word that fits has
+			// been used, so the password is done
+			if (usedWords.contains(word))
+			{
+				if (++redraws >= MAX_REDRAWS)
+				{ break; }
+				continue;
+			}
+			redraws = 0;
+			wordCount++;
+			bits += finder.getDrawBits(word, room, usedWords);
+			usedWords.add(word);
+			
+			// add the word to the password
+			int wordStart = password.length();
+			finder.appendWord(word, password);
+			
+			// if the loop is on the second+ word,
+			// AND the user doesn't want underscores,
+			// make the first letter of the word upper-case
+			if (wordCount > 1 && !settings.getUseUnderscores() && password.length() > wordStart)
+			{
+				password.setCharAt(wordStart, Character.toUpperCase(password.charAt(wordStart)));
+			}
+			
+			// add some filler in-between
+			bits += appendFiller(password, settings, random);
+		}
+		
+		// trim the password a little before handing it back
+		trimPassword(password);
+		return bits;
+	}
+	
+	/**
+	 * Helper function for makePasswords that appends a small
+	 * run of symbols, numbers, and underscores to fill the
+	 * space in between words in a password
+	 * @param password - the password to append the filler to
+	 * @param settings - the GenerationPolicy to follow
+	 * @param random - the random number generator to use
+	 * @return the filler's entropy, in bits
+	 */
+	double appendFiller(StringBuilder password, GenerationPolicy settings, RandomGenerator random)
+	{
+		boolean useUnderscores = settings.getUseUnderscores();
+		double bits = 0;
+		int fillerStart = password.length();
+		
+		// UNDERSCORE PLACEMENT: Use a random integer to determine
+		// whether to place the underscore after the word, or after
+		// "nextPiece".
+		int underscorePosition = random.nextInt(100);
+		if (useUnderscores && underscorePosition < 50)
+		{
+			password.append('_');
+		}
+		
+		// insert a random symbol or number (if the user wants it)
+		// (whether each one shows up is a choice too, so it counts
+		// towards the entropy either way)
+		if (settings.getUseNumbers())
+		{
+			if (random.nextInt(100) < 35)
+			{
+				password.append(random.nextInt(100));
+				bits += NUMBER_BITS;
+			}
+			else
+			{ bits += NO_NUMBER_BITS; }
+		}
+		if (settings.getUseSymbols())
+		{
+			if (random.nextInt(100) < 35)
+			{
+				password.append(getRandomSymbol(random));
+				bits += SYMBOL_BITS;
+			}
+			else
+			{ bits += NO_SYMBOL_BITS; }
+		}
+		
+		// UNDERSCORE PLACEMENT: If the underscore wasn't placed above
+		// (before) "nextPiece", place it here
+		if (useUnderscores && underscorePosition >= 50)
+		{
+			password.append('_');
+		}
+		
+		// where the underscore went only matters if there was a
+		// number or symbol for it to go before or after
+		if (useUnderscores && password.length() - fillerStart > 1)
+		{ bits += 1; }
+		
+		return bits;
+	}
+	
+	/**
+	 * Helper function that trims off some select pieces from
+	 * the end of the password (such as underscores)
+	 * @param password - the password to modify
+	 */
+	void trimPassword(StringBuilder password)
+	{		
+		// if the last character is an underscore, remove it
+		int length = password.length();
+		if (length > 0 && password.charAt(length - 1) == '_')
+		{
+			password.setLength(length - 1);
+		}
+	}
+	
+	/**
+	 * Generates and returns a random symbol.
+	 * @param random - the random number generator to use
+	 * @return a single symbol
+	 */
+	private char getRandomSymbol(RandomGenerator random)
+	{
+		// generate a random index and return that
+		// particular symbol
+		return SYMBOLS[random.nextInt(SYMBOLS.length)];
+	}
+	
+	
+	/**
+	 * Helper function that computes a base-2 logarithm.
+	 * @param x - the number to take the logarithm of
+	 * @return log2(x)
+	 */
+	static double log2(double x)
+	{
+		return Math.log(x) / Math.log(2);
+	}
+	
+	
+	// ------------------ Parallel Generation ------------------ //
+	/**
+	 * A fork-join task that fills in a slice of a password array.
+	 * Slices larger than SLICE_SIZE are split in half, with each
+	 * half getting its own random number source (split off from
+	 * the parent's), so no two tasks ever share one.
+	 * 
+	 * @author Connor Shugg
+	 * @version 2026-10-17
+	 */
+	private class PasswordTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private String[] passwords;		// the array being filled in
+		private int start;				// the first index of this slice
+		private int end;				// one past the last index of this slice
+		private GenerationPolicy settings;	// the settings to make passwords with
+		private RandomSource random;	// this task's random number source
+		private ProgressReporter progress;	// where finished slices are counted
+											// (or null, if progress isn't shown)
+		
+		/**
+		 * Constructs a task for the given slice of the array
+		 * @param passwords - the array being filled in
+		 * @param start - the first index to fill
+		 * @param end - one past the last index to fill
+		 * @param settings - the GenerationPolicy to follow
+		 * @param random - the task's own random number source
+		 * @param progress - the batch's ProgressReporter (or null)
+		 */
+		public PasswordTask(String[] passwords, int start, int end, GenerationPolicy settings,
+							RandomSource random, ProgressReporter progress)
+		{
+			this.passwords = passwords;
+			this.start = start;
+			this.end = end;
+			this.settings = settings;
+			this.random = random;
+			this.progress = progress;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			// small enough: just make the passwords
+			if (end - start <= SLICE_SIZE)
+			{
+				for (int i = start; i < end; i++)
+				{ passwords[i] = makePassword(settings, random); }
+				if (progress != null)
+				{ progress.add(end - start); }
+				return;
+			}
+			
+			// otherwise, split the slice in half
+			int middle = (start + end) >>> 1;
+			invokeAll(new PasswordTask(passwords, start, middle, settings, random.split(), progress),
+					  new PasswordTask(passwords, middle, end, settings, random, progress));
+		}
+	}
+	
+}
@@ -0,0 +1,520 @@
+package passgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A record of every password that's been handed out, used to make
+ * sure no password is ever issued twice ("like snowflakes"). Keeping
+ * hundreds of millions of passwords around would take far too much
+ * memory, so they're recorded in a scalable Bloom filter: a chain of
+ * bit arrays, each twice the size of the last (with a tighter false
+ * positive rate), where a new array is started whenever the current
+ * one fills up.
+ *
+ * A Bloom filter never forgets a password it's seen, but now and then
+ * it will claim to have seen one it hasn't (a "false positive"). Here
+ * that only means a brand-new password gets thrown away and made
+ * again, so duplicates are still ruled out exactly. With the default
+ * settings, false positives happen less than twice in a million checks.
+ *
+ * While the record is small, though, it's checked exactly instead: the
+ * first EXACT_LIMIT passwords are also kept as 64-bit fingerprints in
+ * a hash table (4 MB), and the table has the final say. That's where
+ * false positives would hurt most - with narrow settings there may be
+ * few passwords left to find, and a false "seen it" could use up every
+ * try. (Two passwords would have to share a fingerprint to be mixed
+ * up, a less than one in a hundred million chance even when the table
+ * is full.) Once the table fills, it's dropped, and the Bloom filter
+ * (which has every password in it as well) takes over.
+ *
+ * Checking and recording a password takes a handful of bit lookups
+ * per array, with no locking (bits are set atomically). Two threads
+ * recording the very same password at the very same moment could
+ * both succeed, but passwords are random enough that this is
+ * vanishingly unlikely.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class IssuedPasswords
+{
+	private static final int MAGIC = 0x53504950;		// "SPIP", for saved files
+	private static final int VERSION = 2;				// the current file version
+	private static final long FIRST_CAPACITY = 1L << 20;	// passwords in the first array
+	private static final double FIRST_ERROR = 1e-6;		// false positive rate of the first array
+	private static final double ERROR_RATIO = 0.5;		// each array's rate is this times the last's
+	private static final int CHUNK_WORDS = 1 << 17;		// longs read or written at a time (1 MB)
+	private static final int EXACT_LIMIT = 1 << 18;		// passwords checked exactly, before the
+														// Bloom filter is relied on alone
+
+	private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private volatile Layer[] layers;	// the chain of bit arrays (the last one is
+										// where new passwords are recorded)
+	private volatile long[] exact;		// fingerprints of every password, while there
+										// are few enough (or null, once there aren't)
+	private final AtomicInteger exactCount;	// how many fingerprints are in the table
+
+	/**
+	 * Constructs an empty record of issued passwords.
+	 */
+	public IssuedPasswords()
+	{
+		Layer[] first = {new Layer(FIRST_CAPACITY, FIRST_ERROR)};
+		layers = first;
+		exact = new long[2 * EXACT_LIMIT];
+		exactCount = new AtomicInteger();
+	}
+
+
+	// ------------------ Checking Passwords ------------------ //
+	/**
+	 * Records the given password as issued, unless it (probably)
+	 * has been already.
+	 * @param password - the password to record
+	 * @return a boolean - true if the password is new (and is now
+	 * 		   recorded), false if it's been issued before
+	 */
+	public boolean addIfNew(CharSequence password)
+	{
+		// hash the password once; every array's bit positions
+		// are worked out from these two hashes
+		long h = 0xCBF29CE484222325L;
+		for (int i = 0; i < password.length(); i++)
+		{ h = (h ^ password.charAt(i)) * 0x100000001B3L; }
+		long h1 = mix(h);
+		long h2 = mix(h ^ 0x9E3779B97F4A7C15L) | 1;
+
+		Layer[] current = layers;
+		long[] table = exact;
+		if (table != null)
+		{
+			// while the record is small, the fingerprint table decides
+			// (dropping it once it's full)
+			if (!addFingerprint(table, h1))
+			{ return false; }
+			if (exactCount.incrementAndGet() >= EXACT_LIMIT)
+			{ exact = null; }
+		}
+		else
+		{
+			for (Layer layer : current)
+			{
+				if (layer.mightContain(h1, h2))
+				{ return false; }
+			}
+		}
+
+		// record it in the newest array, starting a new one if full
+		Layer last = current[current.length - 1];
+		last.add(h1, h2);
+		if (last.countAdded() >= last.capacity)
+		{ grow(last); }
+		return true;
+	}
+
+	/**
+	 * Helper function that adds a password's fingerprint to the exact
+	 * table (open addressing, claiming empty slots atomically, so no
+	 * locking is needed). The table is twice the size of EXACT_LIMIT,
+	 * so it never fills up.
+	 * @param table - the fingerprint table
+	 * @param h1 - the password's first hash (its fingerprint)
+	 * @return a boolean - true if the fingerprint is new (and is now
+	 * 		   in the table), false if it was already there
+	 */
+	private static boolean addFingerprint(long[] table, long h1)
+	{
+		// 0 marks an empty slot, so it can't be a fingerprint
+		long fingerprint = h1 == 0 ? 1 : h1;
+		int mask = table.length - 1;
+		int slot = (int) (fingerprint >>> 32) & mask;
+		while (true)
+		{
+			long found = (long) BITS.getAcquire(table, slot);
+			if (found == 0)
+			{
+				found = (long) BITS.compareAndExchange(table, slot, 0L, fingerprint);
+				if (found == 0)
+				{ return true; }
+			}
+			if (found == fingerprint)
+			{ return false; }
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * Helper function that gathers every fingerprint in the exact table.
+	 * @param table - the fingerprint table
+	 * @return an array of the fingerprints
+	 */
+	private static long[] getFingerprints(long[] table)
+	{
+		long[] found = new long[table.length];
+		int count = 0;
+		for (int i = 0; i < table.length; i++)
+		{
+			long fingerprint = (long) BITS.getAcquire(table, i);
+			if (fingerprint != 0)
+			{ found[count++] = fingerprint; }
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Retrieves (roughly) how many passwords have been recorded.
+	 * @return the number of passwords
+	 */
+	public long getCount()
+	{
+		long count = 0;
+		for (Layer layer : layers)
+		{ count += layer.count; }
+		return count;
+	}
+
+	/**
+	 * Estimates how much memory the record is using.
+	 * @return the approximate footprint, in bytes
+	 */
+	public long getFootprint()
+	{
+		long bytes = 0;
+		for (Layer layer : layers)
+		{ bytes += 16L + 8L * layer.bits.length; }
+		long[] table = exact;
+		if (table != null)
+		{ bytes += 16L + 8L * table.length; }
+		return bytes;
+	}
+
+	/**
+	 * Helper function that starts a new, larger array once the
+	 * given (newest) one has filled up.
+	 * @param full - the array that filled up
+	 */
+	private synchronized void grow(Layer full)
+	{
+		// another thread may have grown the chain already
+		Layer[] current = layers;
+		if (current[current.length - 1] != full)
+		{ return; }
+
+		Layer[] grown = Arrays.copyOf(current, current.length + 1);
+		grown[current.length] = new Layer(full.capacity * 2, full.error * ERROR_RATIO);
+		layers = grown;
+	}
+
+	/**
+	 * Helper function that scrambles a 64-bit hash (the finishing
+	 * step of MurmurHash3), so every bit depends on every other.
+	 * @param h - the hash to scramble
+	 * @return the scrambled hash
+	 */
+	private static long mix(long h)
+	{
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+
+	// ------------------ Loading and Saving ------------------ //
+	/**
+	 * Loads a record of issued passwords from a file (saved with
+	 * save()). If the file doesn't exist, an empty record is made.
+	 * Files saved before there was a fingerprint table (version 1)
+	 * are checked with the Bloom filter alone.
+	 * @param file - the file to load
+	 * @return the loaded record
+	 * @throws IOException if the file exists but can't be read
+	 */
+	public static IssuedPasswords load(File file) throws IOException
+	{
+		IssuedPasswords issued = new IssuedPasswords();
+		if (!file.isFile())
+		{ return issued; }
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try
+		{
+			ByteBuffer header = readFully(channel, 12);
+			int magic = header.getInt();
+			int version = header.getInt();
+			if (magic != MAGIC || version < 1 || version > VERSION)
+			{ throw new IOException("Not an issued-password file: " + file); }
+
+			int layerCount = header.getInt();
+			Layer[] loaded = new Layer[layerCount];
+			ByteBuffer chunk = ByteBuffer.allocateDirect(8 * CHUNK_WORDS);
+			for (int i = 0; i < layerCount; i++)
+			{
+				ByteBuffer info = readFully(channel, 32);
+				long capacity = info.getLong();
+				double error = info.getDouble();
+				long count = info.getLong();
+				long words = info.getLong();
+
+				Layer layer = new Layer(capacity, error);
+				if (layer.bits.length != words)
+				{ throw new IOException("Issued-password file is corrupt: " + file); }
+				layer.count = count;
+				readBits(channel, chunk, layer.bits);
+				loaded[i] = layer;
+			}
+			if (layerCount > 0)
+			{ issued.layers = loaded; }
+
+			// then the fingerprints (a count of -1 means the table
+			// had filled up, and was dropped)
+			int fingerprintCount = version < 2 ? -1 : readFully(channel, 4).getInt();
+			if (fingerprintCount < -1 || fingerprintCount > EXACT_LIMIT)
+			{ throw new IOException("Issued-password file is corrupt: " + file); }
+			if (fingerprintCount < 0)
+			{ issued.exact = null; }
+			else
+			{
+				long[] fingerprints = new long[fingerprintCount];
+				readBits(channel, chunk, fingerprints);
+				for (long fingerprint : fingerprints)
+				{
+					if (addFingerprint(issued.exact, fingerprint))
+					{ issued.exactCount.incrementAndGet(); }
+				}
+				if (issued.exactCount.get() >= EXACT_LIMIT)
+				{ issued.exact = null; }
+			}
+		}
+		finally
+		{
+			channel.close();
+		}
+		return issued;
+	}
+
+	/**
+	 * Saves the record to a file. It's written to a temporary file
+	 * first and then moved into place, so a crash part-way through
+	 * never leaves a half-written record behind.
+	 * @param file - the file to save to
+	 * @throws IOException if the file can't be written
+	 */
+	public void save(File file) throws IOException
+	{
+		Path target = file.toPath().toAbsolutePath();
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		Files.createDirectories(target.getParent());
+
+		Layer[] current = layers;
+		long[] table = exact;
+		FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		try
+		{
+			ByteBuffer chunk = ByteBuffer.allocateDirect(8 * CHUNK_WORDS);
+			ByteBuffer header = ByteBuffer.allocate(12);
+			header.putInt(MAGIC).putInt(VERSION).putInt(current.length).flip();
+			writeFully(channel, header);
+
+			for (Layer layer : current)
+			{
+				ByteBuffer info = ByteBuffer.allocate(32);
+				info.putLong(layer.capacity).putDouble(layer.error)
+					.putLong(layer.count).putLong(layer.bits.length).flip();
+				writeFully(channel, info);
+				writeBits(channel, chunk, layer.bits);
+			}
+
+			// then the fingerprints, if the table's still in use
+			long[] fingerprints = table == null ? new long[0] : getFingerprints(table);
+			ByteBuffer count = ByteBuffer.allocate(4);
+			count.putInt(table == null ? -1 : fingerprints.length).flip();
+			writeFully(channel, count);
+			writeBits(channel, chunk, fingerprints);
+		}
+		finally
+		{
+			channel.close();
+		}
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Helper function that reads exactly 'length' bytes from a channel.
+	 * @param channel - the channel to read from
+	 * @param length - the number of bytes to read
+	 * @return a buffer holding the bytes (ready to be read from)
+	 * @throws IOException if the channel ends too soon
+	 */
+	private static ByteBuffer readFully(FileChannel channel, int length) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining())
+		{
+			if (channel.read(buffer) < 0)
+			{ throw new IOException("Issued-password file ended too soon"); }
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Helper function that reads a bit array from a channel in 1 MB
+	 * chunks, straight into the array (so a large array is never
+	 * held in memory twice).
+	 * @param channel - the channel to read from
+	 * @param chunk - a direct buffer of CHUNK_WORDS longs to read through
+	 * @param bits - the array to fill
+	 * @throws IOException if the channel ends too soon
+	 */
+	private static void readBits(FileChannel channel, ByteBuffer chunk, long[] bits) throws IOException
+	{
+		LongBuffer longs = chunk.clear().asLongBuffer();
+		for (int start = 0; start < bits.length; start += CHUNK_WORDS)
+		{
+			int n = Math.min(CHUNK_WORDS, bits.length - start);
+			chunk.clear().limit(8 * n);
+			while (chunk.hasRemaining())
+			{
+				if (channel.read(chunk) < 0)
+				{ throw new IOException("Issued-password file ended too soon"); }
+			}
+			longs.clear();
+			longs.get(bits, start, n);
+		}
+	}
+
+	/**
+	 * Helper function that writes a bit array to a channel in 1 MB
+	 * chunks.
+	 * @param channel - the channel to write to
+	 * @param chunk - a direct buffer of CHUNK_WORDS longs to write through
+	 * @param bits - the array to write
+	 * @throws IOException if the write fails
+	 */
+	private static void writeBits(FileChannel channel, ByteBuffer chunk, long[] bits) throws IOException
+	{
+		LongBuffer longs = chunk.clear().asLongBuffer();
+		for (int start = 0; start < bits.length; start += CHUNK_WORDS)
+		{
+			int n = Math.min(CHUNK_WORDS, bits.length - start);
+			longs.clear();
+			longs.put(bits, start, n);
+			chunk.clear().limit(8 * n);
+			writeFully(channel, chunk);
+		}
+	}
+
+	/**
+	 * Helper function that writes all of a buffer to a channel.
+	 * @param channel - the channel to write to
+	 * @param buffer - the bytes to write
+	 * @throws IOException if the write fails
+	 */
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{ channel.write(buffer); }
+	}
+
+
+	// ---------------------- Bit Arrays ---------------------- //
+	/**
+	 * One plain Bloom filter in the chain: a bit array sized for
+	 * 'capacity' passwords at the given false positive rate.
+	 *
+	 * @author Connor Shugg
+	 * @version 2026-10-17
+	 */
+	private static class Layer
+	{
+		private final long capacity;	// how many passwords this array is sized for
+		private final double error;		// its false positive rate, when full
+		private final long bitCount;	// the number of bits in the array
+		private final int hashCount;	// how many bits each password sets
+		private final long[] bits;		// the bit array
+		private volatile long count;	// roughly how many passwords were added
+
+		/**
+		 * Constructs an empty Layer, using the usual Bloom filter
+		 * sizing: m = -n ln(p) / ln(2)^2 bits, and k = (m / n) ln(2)
+		 * bits set per password.
+		 * @param capacity - the number of passwords it should hold
+		 * @param error - the false positive rate it should have when full
+		 */
+		public Layer(long capacity, double error)
+		{
+			this.capacity = capacity;
+			this.error = error;
+			long m = (long) Math.ceil(-capacity * Math.log(error) / (Math.log(2) * Math.log(2)));
+			bits = new long[(int) ((m + 63) / 64)];
+			bitCount = 64L * bits.length;
+			hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+			count = 0;
+		}
+
+		/**
+		 * Determines whether a password with the given hashes might
+		 * already be in this array.
+		 * @param h1 - the password's first hash
+		 * @param h2 - the password's second hash
+		 * @return a boolean - false if the password definitely isn't here
+		 */
+		public boolean mightContain(long h1, long h2)
+		{
+			long h = h1;
+			for (int i = 0; i < hashCount; i++)
+			{
+				long bit = Long.remainderUnsigned(h, bitCount);
+				long word = (long) BITS.getOpaque(bits, (int) (bit >>> 6));
+				if ((word & (1L << bit)) == 0)
+				{ return false; }
+				h += h2;
+			}
+			return true;
+		}
+
+		/**
+		 * Sets every bit for a password with the given hashes.
+		 * @param h1 - the password's first hash
+		 * @param h2 - the password's second hash
+		 */
+		public void add(long h1, long h2)
+		{
+			long h = h1;
+			for (int i = 0; i < hashCount; i++)
+			{
+				long bit = Long.remainderUnsigned(h, bitCount);
+				BITS.getAndBitwiseOr(bits, (int) (bit >>> 6), 1L << bit);
+				h += h2;
+			}
+			count++;
+		}
+
+		/**
+		 * Retrieves roughly how many passwords have been added.
+		 * @return the count
+		 */
+		public long countAdded()
+		{
+			return count;
+		}
+	}
+
+}
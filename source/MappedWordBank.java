@@ -0,0 +1,287 @@
+package passgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A WordBank for very large dictionaries (one word per line). The
+ * file is memory-mapped rather than read, and a single pass over the
+ * mapped bytes records where each line starts (a word's length is
+ * worked out from where the next one starts). Words are read straight
+ * out of the mapped region when asked for, so the only heap the bank
+ * uses is that table of line starts.
+ *
+ * The table is also saved next to the dictionary (as "[name].idx"),
+ * stamped with the dictionary's size and modification time. Later
+ * runs map that file instead of scanning the dictionary again, so
+ * the table doesn't take up any heap at all.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class MappedWordBank implements WordBank
+{
+	static final int INDEX_MAGIC = 0x53504C49;	// "SPLI"
+	static final int INDEX_VERSION = 2;			// the current index format version
+	static final int INDEX_HEADER_SIZE = 28;		// the size of the index header, in bytes
+
+	private static final int INITIAL_CAPACITY = 1024;	// starting size of the line table
+	private static final int CHUNK_SIZE = 1 << 16;		// bytes scanned at a time
+
+	private MappedByteBuffer buffer;	// the mapped contents of the file
+	private IntBuffer starts;			// starts[i] is where word i begins (and
+										// starts[count] is the end of the file)
+	private int count;					// the number of words in the bank
+
+	/**
+	 * Constructs a MappedWordBank by mapping the given file and
+	 * indexing each of its non-blank lines (or loading the index
+	 * saved by an earlier run, if the file hasn't changed since).
+	 * @param dictionary - the file to map (one word per line)
+	 * @throws IOException if the file can't be mapped
+	 */
+	public MappedWordBank(File dictionary) throws IOException
+	{
+		FileChannel channel = FileChannel.open(dictionary.toPath(), StandardOpenOption.READ);
+		try
+		{
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+			{ throw new IOException("Dictionary is too large to map: " + dictionary); }
+
+			// the mapping stays valid after the channel is closed
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		finally
+		{
+			channel.close();
+		}
+
+		File indexFile = new File(dictionary.getPath() + ".idx");
+		if (!loadIndex(indexFile, dictionary))
+		{
+			indexLines();
+			saveIndex(indexFile, dictionary);
+		}
+	}
+
+	/**
+	 * Makes a single pass over the mapped bytes, recording where every
+	 * non-blank line starts (leaving out any leading whitespace). Only
+	 * the starts are kept: a word ends wherever the whitespace before
+	 * the next word's start begins (see getLength()).
+	 */
+	private void indexLines()
+	{
+		int size = buffer.limit();
+		byte[] chunk = new byte[CHUNK_SIZE];
+		int[] table = new int[INITIAL_CAPACITY];
+		count = 0;
+
+		// the bytes are copied out a chunk at a time, since going
+		// through a local array is much quicker than the buffer
+		boolean inLine = false;		// whether a word's line is being skipped
+		for (int offset = 0; offset < size; offset += CHUNK_SIZE)
+		{
+			int length = Math.min(CHUNK_SIZE, size - offset);
+			buffer.get(offset, chunk, 0, length);
+			for (int i = 0; i < length; i++)
+			{
+				byte b = chunk[i];
+				if (inLine)
+				{
+					// move on once the line ends
+					if (b == '\n')
+					{ inLine = false; }
+				}
+				else if ((b & 0xFF) > ' ')
+				{
+					// a word starts here (after any blank lines and
+					// leading whitespace, comparing bytes unsigned so
+					// UTF-8 isn't taken for whitespace) - record it,
+					// growing the table if need be (keeping a slot
+					// free for the end marker below)
+					if (count + 1 == table.length)
+					{ table = Arrays.copyOf(table, table.length * 2); }
+					table[count++] = offset + i;
+					inLine = true;
+				}
+			}
+		}
+
+		// the end of the file marks where the last word ends
+		table[count] = size;
+		starts = IntBuffer.wrap(Arrays.copyOf(table, count + 1));
+	}
+
+	/**
+	 * Helper function that maps the index saved by an earlier run, if
+	 * there is one, and if its stamp shows the dictionary hasn't been
+	 * changed since.
+	 * @param indexFile - the saved index
+	 * @param dictionary - the dictionary it belongs to
+	 * @return a boolean indicating if the index was loaded
+	 */
+	private boolean loadIndex(File indexFile, File dictionary)
+	{
+		if (!indexFile.isFile())
+		{ return false; }
+
+		MappedByteBuffer index;
+		try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if (size < INDEX_HEADER_SIZE || size > Integer.MAX_VALUE)
+			{ return false; }
+			index = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		catch (IOException e)
+		{
+			// an index that can't be read is just built again
+			return false;
+		}
+
+		// check the header, the stamp, and the index's length
+		int words = index.getInt(24);
+		if (index.getInt(0) != INDEX_MAGIC || index.getInt(4) != INDEX_VERSION
+			|| index.getLong(8) != buffer.limit() || index.getLong(16) != dictionary.lastModified()
+			|| words < 0 || INDEX_HEADER_SIZE + 4L * (words + 1) != index.limit())
+		{ return false; }
+
+		count = words;
+		starts = index.slice(INDEX_HEADER_SIZE, 4 * (words + 1)).asIntBuffer();
+		return true;
+	}
+
+	/**
+	 * Helper function that saves the line table next to the dictionary,
+	 * so later runs can skip the scan. If it can't be saved (in a
+	 * read-only folder, say), the table is just built again next time.
+	 * @param indexFile - where to save the index
+	 * @param dictionary - the dictionary it belongs to
+	 */
+	private void saveIndex(File indexFile, File dictionary)
+	{
+		ByteBuffer out = ByteBuffer.allocate(INDEX_HEADER_SIZE + 4 * (count + 1));
+		out.putInt(INDEX_MAGIC);
+		out.putInt(INDEX_VERSION);
+		out.putLong(buffer.limit());
+		out.putLong(dictionary.lastModified());
+		out.putInt(count);
+		out.asIntBuffer().put(starts.array());
+		try
+		{
+			UserDataStore.writeAtomically(indexFile, out.array());
+		}
+		catch (IOException e)
+		{
+			// no harm done - the dictionary is simply scanned again
+		}
+	}
+
+
+	// -------------------- Getter Methods -------------------- //
+	@Override
+	public int getWordCount()
+	{
+		return count;
+	}
+
+	@Override
+	public String getWord(int index)
+	{
+		return decode(buffer, starts.get(index), getLength(index));
+	}
+
+	/**
+	 * Copies a word out of a mapped buffer and decodes it as UTF-8,
+	 * lowering the case of any ASCII letters.
+	 * @param buffer - the buffer holding the word
+	 * @param start - where the word begins in the buffer
+	 * @param length - the word's length, in bytes
+	 * @return a string - the decoded word
+	 */
+	static String decode(ByteBuffer buffer, int start, int length)
+	{
+		byte[] bytes = new byte[length];
+		buffer.get(start, bytes);
+		for (int i = 0; i < bytes.length; i++)
+		{
+			if (bytes[i] >= 'A' && bytes[i] <= 'Z')
+			{ bytes[i] += 'a' - 'A'; }
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void appendWord(int index, StringBuilder sb)
+	{
+		appendBytes(buffer, starts.get(index), getLength(index), sb);
+	}
+
+	/**
+	 * Appends a word straight out of a mapped buffer to the end of a
+	 * StringBuilder, lowering its case as it goes. Plain ASCII words
+	 * are copied a byte at a time; anything else is decoded as UTF-8.
+	 * @param buffer - the buffer holding the word
+	 * @param start - where the word begins in the buffer
+	 * @param length - the word's length, in bytes
+	 * @param sb - the StringBuilder to append to
+	 */
+	static void appendBytes(ByteBuffer buffer, int start, int length, StringBuilder sb)
+	{
+		int end = start + length;
+		for (int i = start; i < end; i++)
+		{
+			if (buffer.get(i) < 0)
+			{
+				sb.append(decode(buffer, start, length));
+				return;
+			}
+		}
+		for (int i = start; i < end; i++)
+		{
+			byte b = buffer.get(i);
+			if (b >= 'A' && b <= 'Z')
+			{ b += 'a' - 'A'; }
+			sb.append((char) b);
+		}
+	}
+
+	/**
+	 * Works out a word's length from where the next word starts, by
+	 * stepping back over the line break (and any other whitespace)
+	 * in between.
+	 * @param index - the word's index
+	 * @return the word's length, in bytes
+	 */
+	@Override
+	public int getLength(int index)
+	{
+		int start = starts.get(index);
+		int end = starts.get(index + 1);
+		while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ')
+		{ end--; }
+		return end - start;
+	}
+
+	/**
+	 * Estimates how much heap the bank is using. The mapped file
+	 * itself lives outside the heap, so only the line table counts
+	 * (and only when it was built, rather than mapped from the index).
+	 * @return the approximate footprint, in bytes
+	 */
+	@Override
+	public long getFootprint()
+	{
+		return starts.hasArray() ? 16L + 4L * starts.capacity() : 0;
+	}
+
+}
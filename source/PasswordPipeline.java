@@ -0,0 +1,325 @@
+package passgen;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs password generation and output side by side: producer threads
+ * make passwords and push them into a bounded, lock-free
+ * PasswordQueue, while the calling thread drains the queue into a
+ * PasswordWriter. Slow output doesn't hold up generation (until the
+ * queue fills), and slow generation doesn't hold up output.
+ *
+ * Whenever a producer finds the queue full, or the writer finds it
+ * empty, that's counted as a stall, and the side that stalled backs
+ * off briefly. The stall counts and the deepest the queue got are
+ * kept, so the run can be reported on afterwards.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class PasswordPipeline
+{
+	private static final int QUEUE_SIZE = 8192;	// passwords the queue can hold
+	private static final int SPIN_TRIES = 16;	// tries before a stalled side sleeps
+	private static final long BACKOFF_NANOS = 50_000;	// how long a stalled side sleeps
+
+	private Generator gen;				// the generator making the passwords
+	private int producerCount;			// the number of producer threads
+	private PasswordQueue queue;		// passwords waiting to be written
+
+	private AtomicLong producerStalls;	// times a producer found the queue full
+	private long writerStalls;			// times the writer found the queue empty
+	private AtomicInteger maxDepth;		// the most passwords seen waiting at once
+	private volatile boolean aborted;	// set if either side fails part-way
+	private volatile RuntimeException failure;	// what went wrong in a producer
+	private ProgressReporter progress;	// where written passwords are counted (or null)
+
+	/**
+	 * Constructs a PasswordPipeline with one producer thread per
+	 * spare CPU core (leaving one for the writer).
+	 * @param g - the generator to make passwords with
+	 */
+	public PasswordPipeline(Generator g)
+	{
+		this(g, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+	}
+
+	/**
+	 * Constructs a PasswordPipeline with the given number of
+	 * producer threads.
+	 * @param g - the generator to make passwords with
+	 * @param producers - the number of producer threads
+	 */
+	public PasswordPipeline(Generator g, int producers)
+	{
+		gen = g;
+		producerCount = Math.max(1, producers);
+		queue = new PasswordQueue(QUEUE_SIZE);
+		producerStalls = new AtomicLong();
+		maxDepth = new AtomicInteger();
+	}
+
+
+	// -------------------- Running Methods ------------------- //
+	/**
+	 * Generates 'count' passwords and writes each to the given
+	 * output on its own line, returning once they're all written.
+	 * @param count - the number of passwords to generate
+	 * @param rated - whether to write each password's entropy next to it
+	 * @param out - where to write the passwords
+	 * @throws IOException if the output can't be written to
+	 */
+	public void run(long count, boolean rated, PasswordWriter out) throws IOException
+	{
+		producerStalls.set(0);
+		writerStalls = 0;
+		maxDepth.set(0);
+		aborted = false;
+		failure = null;
+
+		// start the producers, each with its own share of the
+		// passwords and its own random number source
+		AtomicInteger running = new AtomicInteger(producerCount);
+		Thread[] producers = new Thread[producerCount];
+		GenerationPolicy settings = gen.getPolicy();
+		RandomSource random = gen.getRandomSource();
+		for (int i = 0; i < producerCount; i++)
+		{
+			long share = count / producerCount + (i < count % producerCount ? 1 : 0);
+			Producer producer = new Producer(share, rated, settings, random.split(), running);
+			producers[i] = new Thread(producer, "passplant-producer-" + i);
+			producers[i].setDaemon(true);
+			producers[i].start();
+		}
+
+		// drain the queue until every producer is done and it's empty
+		try
+		{
+			int idle = 0;
+			long written = 0;
+			while (true)
+			{
+				String line = queue.poll();
+				if (line == null)
+				{
+					// nothing waiting - see if the producers are finished,
+					// then check the queue once more before giving up
+					if (running.get() != 0)
+					{
+						if (idle == 0)
+						{ writerStalls++; }
+						backOff(idle++);
+						continue;
+					}
+					line = queue.poll();
+					if (line == null)
+					{ break; }
+				}
+
+				// every line is written (and counted) the same way,
+				// including any picked up by the last check
+				out.writeLine(line);
+				written++;
+				if (progress != null)
+				{ progress.set(written); }
+				idle = 0;
+			}
+		}
+		finally
+		{
+			aborted = true;
+			joinAll(producers);
+		}
+
+		if (failure != null)
+		{ throw failure; }
+	}
+
+	/**
+	 * Helper function that waits for every producer thread to finish.
+	 * @param producers - the producer threads
+	 */
+	private static void joinAll(Thread[] producers)
+	{
+		for (Thread producer : producers)
+		{
+			try
+			{
+				producer.join();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Helper function that waits a little after a stall: a few quick
+	 * yields first, then short sleeps.
+	 * @param tries - how many times in a row this side has stalled
+	 */
+	private static void backOff(int tries)
+	{
+		if (tries < SPIN_TRIES)
+		{ Thread.yield(); }
+		else
+		{ LockSupport.parkNanos(BACKOFF_NANOS); }
+	}
+
+
+	// -------------------- Setter Methods -------------------- //
+	/**
+	 * Sets where the writer counts each password it writes, so
+	 * progress can be shown while the pipeline runs
+	 * @param reporter - the ProgressReporter (or null, for none)
+	 */
+	public void setProgress(ProgressReporter reporter)
+	{
+		progress = reporter;
+	}
+	
+	
+	// -------------------- Getter Methods -------------------- //
+	/**
+	 * Retrieves the number of producer threads
+	 * @return the producer count
+	 */
+	public int getProducerCount()
+	{
+		return producerCount;
+	}
+
+	/**
+	 * Retrieves the most passwords the queue can hold
+	 * @return the queue capacity
+	 */
+	public int getQueueCapacity()
+	{
+		return queue.getCapacity();
+	}
+
+	/**
+	 * Retrieves the most passwords that were seen waiting in the
+	 * queue at once, during the last run
+	 * @return the deepest queue depth
+	 */
+	public int getMaxDepth()
+	{
+		return maxDepth.get();
+	}
+
+	/**
+	 * Retrieves how many times, during the last run, a producer
+	 * found the queue full and had to wait for the writer
+	 * @return the number of producer stalls
+	 */
+	public long getProducerStalls()
+	{
+		return producerStalls.get();
+	}
+
+	/**
+	 * Retrieves how many times, during the last run, the writer
+	 * found the queue empty and had to wait for the producers
+	 * @return the number of writer stalls
+	 */
+	public long getWriterStalls()
+	{
+		return writerStalls;
+	}
+
+
+	// ----------------------- Producers ---------------------- //
+	/**
+	 * One producer thread's work: make its share of the passwords,
+	 * and push each one into the queue.
+	 *
+	 * @author Connor Shugg
+	 * @version 2026-10-17
+	 */
+	private class Producer implements Runnable
+	{
+		private long count;				// the number of passwords to make
+		private boolean rated;			// whether to add each one's entropy
+		private GenerationPolicy settings;	// the settings to make passwords with
+		private RandomSource random;	// this producer's random number source
+		private AtomicInteger running;	// the number of producers still going
+
+		/**
+		 * Constructs a Producer
+		 * @param n - the number of passwords to make
+		 * @param r - whether to add each password's entropy to its line
+		 * @param policy - the settings to make passwords with
+		 * @param source - the producer's own random number source
+		 * @param counter - the count of running producers (decremented when done)
+		 */
+		public Producer(long n, boolean r, GenerationPolicy policy, RandomSource source,
+						AtomicInteger counter)
+		{
+			count = n;
+			rated = r;
+			settings = policy;
+			random = source;
+			running = counter;
+		}
+
+		@Override
+		public void run()
+		{
+			try
+			{
+				for (long i = 0; i < count && !aborted; i++)
+				{
+					String line;
+					if (rated)
+					{
+						GeneratedPassword p = gen.makeRatedPassword(settings, random);
+						line = p.getPassword() + "  (" + Math.round(p.getEntropy()) + " bits)";
+					}
+					else
+					{ line = gen.makePassword(settings, random); }
+					push(line);
+				}
+			}
+			catch (RuntimeException e)
+			{
+				failure = e;
+				aborted = true;
+			}
+			finally
+			{
+				running.decrementAndGet();
+			}
+		}
+
+		/**
+		 * Helper function that pushes a line into the queue, backing
+		 * off while it's full (unless the run has been aborted).
+		 * @param line - the line to push
+		 */
+		private void push(String line)
+		{
+			int tries = 0;
+			while (!queue.offer(line))
+			{
+				if (aborted)
+				{ return; }
+				if (tries == 0)
+				{ producerStalls.incrementAndGet(); }
+				backOff(tries++);
+			}
+
+			// keep track of the deepest the queue gets (every producer
+			// updates this, so it's only written when it's beaten)
+			int depth = queue.size();
+			if (depth > maxDepth.get())
+			{ maxDepth.accumulateAndGet(depth, Math::max); }
+		}
+	}
+
+}
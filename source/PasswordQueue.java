@@ -0,0 +1,119 @@
+package passgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue of passwords, for any number of threads
+ * adding passwords and a single thread taking them out. It's a ring
+ * of slots, each with a sequence number saying whose turn it is:
+ * a producer claims the next slot by bumping the shared tail with a
+ * compare-and-set, fills it, and then publishes it by advancing its
+ * sequence number; the consumer takes slots in order as soon as
+ * they're published. Neither side ever blocks - offer() fails when
+ * the queue is full and poll() returns null when it's empty, and
+ * the caller decides how to wait.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class PasswordQueue
+{
+	private final int capacity;						// the number of slots (a power of 2)
+	private final int mask;							// capacity - 1, for wrapping around
+	private final AtomicReferenceArray<String> slots;	// the passwords in the ring
+	private final AtomicLongArray sequences;		// each slot's sequence number
+	private final AtomicLong tail;					// the next position to be claimed
+	private volatile long head;						// the next position to be taken
+													// (only the consumer changes it)
+
+	/**
+	 * Constructs an empty PasswordQueue.
+	 * @param size - the most passwords it should hold (rounded
+	 * 		  up to a power of 2)
+	 */
+	public PasswordQueue(int size)
+	{
+		capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+		mask = capacity - 1;
+		slots = new AtomicReferenceArray<String>(capacity);
+		sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++)
+		{ sequences.set(i, i); }
+		tail = new AtomicLong(0);
+		head = 0;
+	}
+
+
+	// -------------------- Queue Methods --------------------- //
+	/**
+	 * Adds a password to the back of the queue, if there's room.
+	 * Safe to call from any number of threads at once.
+	 * @param password - the password to add
+	 * @return a boolean - false if the queue was full
+	 */
+	public boolean offer(String password)
+	{
+		while (true)
+		{
+			long position = tail.get();
+			int index = (int) position & mask;
+			long diff = sequences.get(index) - position;
+			if (diff == 0)
+			{
+				// the slot is free - try to claim it
+				if (tail.compareAndSet(position, position + 1))
+				{
+					slots.lazySet(index, password);
+					sequences.set(index, position + 1);
+					return true;
+				}
+			}
+			else if (diff < 0)
+			{
+				// the slot still holds an untaken password, so we're full
+				return false;
+			}
+			// otherwise another producer got there first; try again
+		}
+	}
+
+	/**
+	 * Takes the password at the front of the queue. Only one
+	 * thread may call this.
+	 * @return the password, or null if the queue is empty
+	 */
+	public String poll()
+	{
+		long position = head;
+		int index = (int) position & mask;
+		if (sequences.get(index) != position + 1)
+		{ return null; }
+
+		String password = slots.get(index);
+		slots.lazySet(index, null);
+		sequences.set(index, position + capacity);
+		head = position + 1;
+		return password;
+	}
+
+	/**
+	 * Retrieves (roughly) how many passwords are in the queue.
+	 * @return the number of passwords
+	 */
+	public int size()
+	{
+		return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+	}
+
+	/**
+	 * Retrieves the most passwords the queue can hold.
+	 * @return the capacity
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+}
@@ -0,0 +1,325 @@
+package passgen;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A long-running password service. The generator (along with its
+ * word index and user data) is loaded once and kept warm, and
+ * passwords are handed out over HTTP on the local machine only, so
+ * tools that need passwords don't pay for JVM startup and loading
+ * the word files on every call. A request looks like:
+ *
+ *   GET /passwords?count=5&amp;numbers=on&amp;symbols=off&amp;underscores=off
+ *                 &amp;min=12&amp;max=24&amp;minbits=40
+ *
+ * Every parameter is optional (the generator's own settings are used
+ * for anything left out), and the passwords come back as plain text,
+ * one per line. A request can ask for at most MAX_COUNT passwords, up
+ * to MAX_LENGTH characters long; anything bigger gets a 400 (so no
+ * one request can tie up a thread for good). Each request is handled on its own thread: a virtual
+ * thread, where the Java runtime has them, or a pooled thread otherwise.
+ *
+ * Requests never wait on each other. Each one makes its passwords
+ * from the one shared generator, but with its own GenerationPolicy
+ * (the generator's settings, with the request's applied on top), and
+ * its own RandomSource, borrowed from a lock-free pool of sources
+ * split off from the generator's. Sources go back in the pool when a
+ * request finishes, so they (and any random bytes they've buffered)
+ * are reused.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class PasswordServer
+{
+	private static final int MAX_COUNT = 10000;	// the most passwords per request
+	private static final int MAX_LENGTH = 256;	// the longest password a request can ask for
+	private static final int BACKLOG = 1024;	// connections that can wait to be accepted
+
+	private Generator gen;				// the warm generator passwords come from
+	private HttpServer server;			// the HTTP server taking requests
+	private ExecutorService executor;	// the threads requests are handled on
+	private ConcurrentLinkedQueue<RandomSource> idleSources;	// sources not in use
+
+	/**
+	 * Constructs a PasswordServer around the given generator
+	 * (it isn't started until start() is called).
+	 * @param g - the generator to serve passwords from
+	 * @param port - the local port to listen on (0 for any free port)
+	 * @throws IOException if the port can't be opened
+	 */
+	public PasswordServer(Generator g, int port) throws IOException
+	{
+		gen = g;
+		idleSources = new ConcurrentLinkedQueue<RandomSource>();
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+								   BACKLOG);
+		server.createContext("/passwords", this::handlePasswords);
+		executor = newRequestExecutor();
+		server.setExecutor(executor);
+	}
+
+
+	// -------------------- Server Methods -------------------- //
+	/**
+	 * Starts taking requests (in the background).
+	 */
+	public void start()
+	{
+		server.start();
+	}
+
+	/**
+	 * Stops taking requests, giving any in progress a second to finish.
+	 */
+	public void stop()
+	{
+		server.stop(1);
+		executor.shutdown();
+	}
+
+	/**
+	 * Retrieves the port the server is listening on.
+	 * @return the port number
+	 */
+	public int getPort()
+	{
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Helper function that makes the executor requests are handled on:
+	 * one new virtual thread per request, if this Java runtime has
+	 * virtual threads (Java 21 and up), or a pool of ordinary threads
+	 * that grows as needed, if it doesn't.
+	 * @return the executor
+	 */
+	static ExecutorService newRequestExecutor()
+	{
+		try
+		{
+			return (ExecutorService) Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+
+	// ------------------- Request Handling ------------------- //
+	/**
+	 * Handles a request for passwords: reads the settings out of
+	 * the query string, makes the passwords, and sends them back.
+	 * @param exchange - the request (and its response)
+	 * @throws IOException if the response can't be sent
+	 */
+	private void handlePasswords(HttpExchange exchange) throws IOException
+	{
+		try
+		{
+			if (!exchange.getRequestMethod().equals("GET"))
+			{
+				respond(exchange, 405, "Only GET requests are supported\n");
+				return;
+			}
+
+			String body;
+			try
+			{
+				body = makePasswords(exchange.getRequestURI().getRawQuery());
+			}
+			catch (IllegalArgumentException e)
+			{
+				respond(exchange, 400, e.getMessage() + "\n");
+				return;
+			}
+			catch (IllegalStateException e)
+			{
+				respond(exchange, 503, e.getMessage() + "\n");
+				return;
+			}
+			respond(exchange, 200, body);
+		}
+		finally
+		{
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Helper function that makes the passwords a request asked for.
+	 * @param query - the request's (raw) query string, or null
+	 * @return a string - the passwords, one per line
+	 * @throws IllegalArgumentException if the query is malformed
+	 */
+	private String makePasswords(String query)
+	{
+		int count = 1;
+		String numbers = null;
+		String symbols = null;
+		String underscores = null;
+		int min = -1;
+		int max = -1;
+		double minBits = -1;
+
+		// read each "name=value" pair in the query
+		if (query != null && !query.isEmpty())
+		{
+			for (String pair : query.split("&"))
+			{
+				int equals = pair.indexOf('=');
+				if (equals < 0)
+				{ throw new IllegalArgumentException("Malformed parameter: " + pair); }
+				String name = URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8);
+				String value = URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+
+				switch (name)
+				{
+					case "count":
+						count = parseInt(name, value);
+						break;
+					case "numbers":
+						numbers = parseSwitch(name, value);
+						break;
+					case "symbols":
+						symbols = parseSwitch(name, value);
+						break;
+					case "underscores":
+						underscores = parseSwitch(name, value);
+						break;
+					case "min":
+						min = parseInt(name, value);
+						break;
+					case "max":
+						max = parseInt(name, value);
+						break;
+					case "minbits":
+						minBits = parseInt(name, value);
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown parameter: " + name);
+				}
+			}
+		}
+		if (count < 1 || count > MAX_COUNT)
+		{ throw new IllegalArgumentException("count must be from 1 to " + MAX_COUNT); }
+
+		// apply the request's settings on top of the generator's
+		GenerationPolicy settings = gen.getPolicy();
+		if (numbers != null)
+		{ settings = settings.withNumbers(numbers.equals("on")); }
+		if (symbols != null)
+		{ settings = settings.withSymbols(symbols.equals("on")); }
+		if (underscores != null)
+		{ settings = settings.withUnderscores(underscores.equals("on")); }
+		if (min >= 0 || max >= 0)
+		{
+			int lower = min >= 0 ? min : settings.getMinLength();
+			int upper = max >= 0 ? max : settings.getMaxLength();
+			if (lower < 1 || upper < lower || upper > MAX_LENGTH)
+			{ throw new IllegalArgumentException("Length range must satisfy 1 <= min <= max <= "
+												 + MAX_LENGTH); }
+			settings = settings.withLengthRange(lower, upper);
+		}
+		if (minBits >= 0)
+		{ settings = settings.withMinimumEntropy(minBits); }
+		
+		// make the passwords with a borrowed random number source
+		RandomSource random = borrowSource();
+		try
+		{
+			StringBuilder body = new StringBuilder(count * 26);
+			for (int i = 0; i < count; i++)
+			{ body.append(gen.makePassword(settings, random)).append('\n'); }
+			return body.toString();
+		}
+		finally
+		{
+			idleSources.offer(random);
+		}
+	}
+	
+	/**
+	 * Helper function that borrows a RandomSource for a request:
+	 * an idle one from the pool, or (if they're all in use) a new
+	 * one split off from the generator's. The generator's source
+	 * may not be safe to split from several threads at once, so
+	 * splitting is the one thing requests take turns at.
+	 * @return the RandomSource (to be offered back to the pool)
+	 */
+	private RandomSource borrowSource()
+	{
+		RandomSource random = idleSources.poll();
+		if (random != null)
+		{ return random; }
+		synchronized (idleSources)
+		{
+			return gen.getRandomSource().split();
+		}
+	}
+
+	/**
+	 * Helper function that reads a whole-number parameter.
+	 * @param name - the parameter's name
+	 * @param value - the parameter's value
+	 * @return the number
+	 * @throws IllegalArgumentException if the value isn't a number
+	 */
+	private static int parseInt(String name, String value)
+	{
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch (NumberFormatException e)
+		{
+			throw new IllegalArgumentException(name + " must be a whole number");
+		}
+	}
+
+	/**
+	 * Helper function that reads an "on/off" parameter.
+	 * @param name - the parameter's name
+	 * @param value - the parameter's value
+	 * @return a string - "on" or "off"
+	 * @throws IllegalArgumentException if the value is neither
+	 */
+	private static String parseSwitch(String name, String value)
+	{
+		String lower = value.toLowerCase();
+		if (!lower.equals("on") && !lower.equals("off"))
+		{ throw new IllegalArgumentException(name + " must be \"on\" or \"off\""); }
+		return lower;
+	}
+
+	/**
+	 * Helper function that sends a plain-text response.
+	 * @param exchange - the request being responded to
+	 * @param status - the HTTP status code
+	 * @param text - the response body
+	 * @throws IOException if the response can't be sent
+	 */
+	private static void respond(HttpExchange exchange, int status, String text) throws IOException
+	{
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		OutputStream out = exchange.getResponseBody();
+		out.write(bytes);
+		out.close();
+	}
+
+}
@@ -0,0 +1,177 @@
+package passgen;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes passwords out (to a file, or the console) through one large
+ * direct buffer, so that writing millions of passwords takes a few
+ * big writes rather than a system call (and a flush) per password.
+ * Passwords are copied into the buffer byte by byte as UTF-8, and the
+ * buffer is only handed to the channel once it's full, or when the
+ * writer is flushed or closed.
+ *
+ * A PasswordWriter isn't meant to be shared between threads.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class PasswordWriter implements Closeable
+{
+	private static final int BUFFER_SIZE = 1 << 20;	// bytes buffered between writes
+
+	private WritableByteChannel channel;	// where the bytes end up
+	private boolean ownsChannel;			// whether close() should close the channel
+	private ByteBuffer buffer;				// bytes waiting to be written
+	private long written;					// the number of bytes written so far
+
+	/**
+	 * Constructs a PasswordWriter around the given channel.
+	 * @param out - the channel to write to
+	 * @param owns - whether closing the writer should close the channel
+	 */
+	private PasswordWriter(WritableByteChannel out, boolean owns)
+	{
+		channel = out;
+		ownsChannel = owns;
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		written = 0;
+	}
+
+	/**
+	 * Opens a PasswordWriter that appends to the given file
+	 * (creating it, if it doesn't exist yet).
+	 * @param file - the file to write to
+	 * @return the new PasswordWriter
+	 * @throws IOException if the file can't be opened
+	 */
+	public static PasswordWriter toFile(File file) throws IOException
+	{
+		FileChannel out = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		return new PasswordWriter(out, true);
+	}
+
+	/**
+	 * Opens a PasswordWriter that writes to the console. Anything
+	 * already printed through System.out is flushed first, so the
+	 * output stays in order. (Closing the writer leaves the console open.)
+	 * @return the new PasswordWriter
+	 */
+	public static PasswordWriter toConsole()
+	{
+		System.out.flush();
+		return new PasswordWriter(new FileOutputStream(FileDescriptor.out).getChannel(), false);
+	}
+
+
+	// ----------------------- Writing ------------------------ //
+	/**
+	 * Writes a password, followed by a line break.
+	 * @param password - the password to write
+	 * @throws IOException if the output can't be written to
+	 */
+	public void writeLine(CharSequence password) throws IOException
+	{
+		write(password);
+		write('\n');
+	}
+
+	/**
+	 * Writes some text. Plain ASCII text (every generated password,
+	 * unless a dictionary brought in other characters) is copied
+	 * straight in; anything else is encoded as UTF-8 first.
+	 * @param text - the text to write
+	 * @throws IOException if the output can't be written to
+	 */
+	public void write(CharSequence text) throws IOException
+	{
+		int length = text.length();
+		for (int i = 0; i < length; i++)
+		{
+			char c = text.charAt(i);
+			if (c >= 0x80)
+			{
+				// not all ASCII - encode the rest in one go
+				byte[] bytes = text.subSequence(i, length).toString()
+								   .getBytes(StandardCharsets.UTF_8);
+				for (byte b : bytes)
+				{ write(b); }
+				return;
+			}
+			write((byte) c);
+		}
+	}
+
+	/**
+	 * Writes a single ASCII character.
+	 * @param c - the character to write
+	 * @throws IOException if the output can't be written to
+	 */
+	public void write(char c) throws IOException
+	{
+		write((byte) c);
+	}
+
+	/**
+	 * Helper function that adds a byte to the buffer, writing the
+	 * buffer out first if it's full.
+	 * @param b - the byte to add
+	 * @throws IOException if the output can't be written to
+	 */
+	private void write(byte b) throws IOException
+	{
+		if (!buffer.hasRemaining())
+		{ flush(); }
+		buffer.put(b);
+	}
+
+	/**
+	 * Writes out everything in the buffer.
+	 * @throws IOException if the output can't be written to
+	 */
+	public void flush() throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+		{ written += channel.write(buffer); }
+		buffer.clear();
+	}
+
+	/**
+	 * Retrieves how many bytes have been written out so far
+	 * (not counting any still waiting in the buffer).
+	 * @return the number of bytes
+	 */
+	public long getBytesWritten()
+	{
+		return written;
+	}
+
+	/**
+	 * Flushes the buffer, and closes the file (if writing to one).
+	 * @throws IOException if the output can't be written to
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			flush();
+		}
+		finally
+		{
+			if (ownsChannel)
+			{ channel.close(); }
+		}
+	}
+
+}
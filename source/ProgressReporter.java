@@ -0,0 +1,153 @@
+package passgen;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports how a long batch of passwords is coming along, without
+ * slowing the batch down. The generating thread(s) only bump an
+ * atomic counter; a separate (daemon) thread reads the counter a few
+ * times a second and rewrites a single console line showing how many
+ * passwords are done, how fast they're being made, and roughly how
+ * long is left.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class ProgressReporter implements Runnable
+{
+	private static final long INTERVAL_MILLIS = 250;	// how often the line is updated
+
+	private AtomicLong done;		// the number of passwords finished so far
+	private long total;				// the number of passwords in the batch
+	private PrintStream out;		// where the progress line is printed
+	private long startNanos;		// when the batch started
+	private int lastWidth;			// the length of the last line printed
+	private Thread thread;			// the thread printing the progress line
+	private volatile boolean running;	// whether the thread should keep going
+
+	/**
+	 * Constructs a ProgressReporter for a batch of the given size,
+	 * and starts its reporting thread.
+	 * @param count - the number of passwords in the batch
+	 * @param stream - where to print the progress line
+	 */
+	public ProgressReporter(long count, PrintStream stream)
+	{
+		done = new AtomicLong();
+		total = count;
+		out = stream;
+		startNanos = System.nanoTime();
+		lastWidth = 0;
+		running = true;
+
+		thread = new Thread(this, "passplant-progress");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+
+	// ------------------- Counting Progress ------------------ //
+	/**
+	 * Records how many passwords are finished. Only for a single
+	 * generating thread (it's cheaper than add(), since nothing else
+	 * is writing the counter).
+	 * @param count - the number finished so far
+	 */
+	public void set(long count)
+	{
+		done.lazySet(count);
+	}
+
+	/**
+	 * Records that some more passwords are finished. Safe to call
+	 * from any number of generating threads.
+	 * @param count - the number just finished
+	 */
+	public void add(long count)
+	{
+		done.addAndGet(count);
+	}
+
+	/**
+	 * Stops the reporting thread, and prints the final line
+	 * (with the overall rate), followed by a line break.
+	 */
+	public void finish()
+	{
+		running = false;
+		thread.interrupt();
+		try
+		{
+			thread.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		printLine(true);
+	}
+
+
+	// ------------------- Reporting Thread ------------------- //
+	@Override
+	public void run()
+	{
+		while (running)
+		{
+			try
+			{
+				Thread.sleep(INTERVAL_MILLIS);
+			}
+			catch (InterruptedException e)
+			{
+				// finish() interrupts the sleep; the loop checks 'running'
+			}
+			if (running)
+			{ printLine(false); }
+		}
+	}
+
+	/**
+	 * Helper function that rewrites the progress line, like:
+	 * "Finished 5000/10000 (125000/sec, about 4s left)"
+	 * @param last - whether this is the final line (which ends with a
+	 * 		  line break, and shows no time left)
+	 */
+	private synchronized void printLine(boolean last)
+	{
+		long count = done.get();
+		double seconds = (System.nanoTime() - startNanos) / 1e9;
+		long rate = seconds > 0 ? Math.round(count / seconds) : 0;
+
+		StringBuilder line = new StringBuilder(64);
+		line.append("Finished ").append(count).append('/').append(total);
+		line.append(" (").append(rate).append("/sec");
+		if (!last && rate > 0)
+		{ line.append(", about ").append(formatTime((total - count) / rate)).append(" left"); }
+		line.append(')');
+
+		// pad over anything left from a longer line before it
+		int width = line.length();
+		while (line.length() < lastWidth)
+		{ line.append(' '); }
+		lastWidth = width;
+
+		out.print("\r" + line + (last ? "\n" : ""));
+		out.flush();
+	}
+
+	/**
+	 * Helper function that formats a number of seconds, like "42s"
+	 * or "3m 05s".
+	 * @param seconds - the number of seconds
+	 * @return a string - the formatted time
+	 */
+	private static String formatTime(long seconds)
+	{
+		if (seconds < 60)
+		{ return seconds + "s"; }
+		return String.format("%dm %02ds", seconds / 60, seconds % 60);
+	}
+
+}
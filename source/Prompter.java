@@ -1,807 +1,1314 @@
-package passgen;
-
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.util.Scanner;
-
-/**
- * A class that serves as the UI for the user. Takes
- * in user input and passes it along to other classes
- * to get passwords generated.
- * 
- * @author Connor Shugg
- * @version 2019-2-18
- */
-public class Prompter
-{	
-	private static Scanner scanner;
-	
-	// NOTE TO SELF:
-	// Ask the user questions such as:
-	//  -Is there a certain range you want?
-	//	  -If so, what is it? (upper/lower bounds)
-	//	-Do you want numbers in the password?
-	//	-Do you want symbols in the password?
-	//	-Do you want underscores in the password?
-	//  -How many passwords do you want?
-	
-	// Command-line argument list:
-	// "quick <X>"				Tells the program to skip everything and
-	//							just generate X number of passwords.
-	// "numbers <on/off>"		Turns numbers on/off in the password generator (off by default)
-	// "symbols <on/off>"		Turns symbols on/off in the password generator (off by default)
-	// "underscores <on/off>"	Turns underscores on/off in the password generator (off by default)
-	
-	/**
-	 * Enum used by print methods to determine what
-	 * prefix to give a message being printed to the
-	 * console.
-	 * 
-	 * @author Connor Shugg
-	 * @version 2019-2-18
-	 */
-	private enum MessageType
-	{ PLAIN, STANDARD, ERROR, HEADER, DIALOGUE }
-	
-	/**
-	 * Main method - takes in command-line arguments to help
-	 * the user specify what they want to do
-	 * @param args - the String array of command-line arguments
-	 */
-	public static void main(String[] args)
-	{
-		printConsoleLine(MessageType.PLAIN, "");
-		printConsoleLine(MessageType.HEADER, "---------------------------------------");
-		printConsoleLine(MessageType.HEADER, "Welcome to Snowflake Password Generator");
-		printConsoleLine(MessageType.HEADER, "---------------------------------------");
-		
-		// if any of the code here fails, alert the user
-		try
-		{
-			// create the password generator
-			Generator pgen = new Generator();
-			
-			// apply user preferences, based on the arguments
-			pgen = applyUserPreferences(args, pgen);
-			
-			// check for the "quick" argument. If so, quickly
-			// generate some passwords in this method:
-			boolean generated = checkQuickGeneration(args, pgen);
-			
-			// if passwords weren't generated, move onto the
-			// "main" program
-			if (!generated)
-			{ mainThread(pgen);	}
-		
-		}
-		catch (Exception e)
-		{
-			printErrorMessage();
-		}
-	}
-	
-	
-	// -------------------- Main Processes ------------------- //
-	/**
-	 * The "main thread" of the program. Follows a set of user prompts
-	 * to get passwords generated.
-	 * @param gen - the generator to use for password creation
-	 */
-	private static void mainThread(Generator gen)
-	{
-		// open the scanner
-		scanner = new Scanner(System.in);
-		//--------------------------------
-		
-		// retrieve the UserData
-		UserData ud = gen.getUserData();
-		
-		// if the user's name is null, have the user set it up
-		if (ud.getUserName() == null)
-		{
-			ud.setUserName(promptUserName());
-			ud.saveUserData();
-		}
-		else
-		{
-			// otherwise, get the snowman to say hello!
-			printSnowman();
-			printConsoleLine(MessageType.DIALOGUE, "Hello, " + ud.getUserName() + ". It's me, Dan the Snowman.");
-			printConsoleLine(MessageType.DIALOGUE, "Let's make some passwords!");
-		}
-		
-		// launch the "main menu"
-		int choice = mainMenu(gen);
-		
-		// repeat this process while the user doesn't want to quit
-		while (choice != 3)
-		{
-			// clear the console
-			clearConsole();
-			
-			// determine what to do after the user chooses
-			switch (choice)
-			{
-				case 0:		// chose "Make Passwords"
-					promptPasswords(gen);
-					break;
-					
-				case 1:		// chose "Password Settings"
-					gen = passwordSettings(gen);
-					break;
-					
-				case 2:		// chose "Personalize"
-					ud = addToWordBank(ud);
-					// set the generator's UserData and save the
-					// UserData to a file
-					gen.setUserData(ud);
-					ud.saveUserData();
-					break;
-			}
-			
-			// get the choice again
-			choice = mainMenu(gen);
-		}
-		
-		// say goodbye! Program will close soon
-		printConsoleLine(MessageType.STANDARD, "Goodbye!");
-		
-		//--------------------------------
-		// close the scanner
-		scanner.close();
-	}
-	
-	/**
-	 * Prints and handles user interaction with the program's
-	 * "main menu"
-	 * @param gen - the generator used to create passwords
-	 */
-	private static int mainMenu(Generator gen)
-	{
-		printConsoleLine(MessageType.PLAIN, "");
-		printConsoleLine(MessageType.STANDARD, "What would you like to do?");
-		printConsoleLine(MessageType.HEADER, "  1) Make Passwords");
-		printConsoleLine(MessageType.HEADER, "  2) Password Settings");
-		printConsoleLine(MessageType.HEADER, "  3) Personalize");
-		printConsoleLine(MessageType.HEADER, "  4) Quit");
-		
-		// get the user's preference
-		int responseIndex = -1;
-		while (responseIndex < 0)
-		{
-			// get the user response
-			String response = readLine().toLowerCase();
-			
-			// chose: MAKE PASSWORDS
-			if (response.contains("1") || response.contains("make"))
-			{ responseIndex = 0; }
-			// chose: PASSWORD SETTINGS
-			else if (response.contains("2") || response.contains("settings"))
-			{ responseIndex = 1; }
-			// chose: PERSONALIZE
-			else if (response.contains("3") || response.contains("personalize"))
-			{ responseIndex = 2; }
-			// chose: QUIT
-			else if (response.contains("4") || response.contains("personalize"))
-			{ responseIndex = 3; }
-			// didn't choose any of the options
-			else
-			{
-				printConsoleLine(MessageType.ERROR, "Sorry, that's not a valid option.");
-			}
-		}
-		
-		return responseIndex;
-	}
-	
-	// --------------- Input/UserData Modification -------------- //
-	/**
-	 * Reads a line of user input from the command line, using the
-	 * scanner initialized in mainThread()
-	 * @return the string that was read, or null, if an error occurred
-	 */
-	private static String readLine()
-	{
-		try
-		{
-			return scanner.nextLine();
-		}
-		catch (Exception e)
-		{
-			return null;
-		}
-		
-	}
-		
-	/**
-	 * Prompts the user to enter their name, to be saved
-	 * into the UserData object.
-	 * @return a string - the user's inputted name
-	 */
-	private static String promptUserName()
-	{
-		// print a little bit of intro dialogue
-		printSnowman();
-		printConsoleLine(MessageType.DIALOGUE, "I am... Dan. The password-making Snowman.");
-		printConsoleLine(MessageType.DIALOGUE, "Ever since I was given this magic hat, I've been alive!");
-		printConsoleLine(MessageType.DIALOGUE, "Strangely, my only desire is to create randomized passwords...");
-		printConsoleLine(MessageType.PLAIN, "");
-		printConsoleLine(MessageType.DIALOGUE, "What is YOUR name?");
-		
-		// open a scanner and read the name from the console
-		String name = readLine();
-		
-		// make sure the name isn't null, and respond
-		if (name != null)
-		{ printConsoleLine(MessageType.DIALOGUE, "Nice to meet you " + name + "! Let's make some passwords."); }
-		else
-		{ printConsoleLine(MessageType.DIALOGUE, "Hmm, I couldn't read your name, for some reason."); }			
-		
-		return name;
-	}
-	
-	/**
-	 * Prompts the user various questions to create passwords
-	 * @param gen - the generator to make passwords with
-	 */
-	private static void promptPasswords(Generator gen)
-	{
-		// read input for the number of passwords the user wants
-		printConsoleLine(MessageType.STANDARD, "How many passwords do you want?");
-		int count = -1;
-		while (count <= 0)
-		{
-			// read user response
-			String response = readLine().toLowerCase();
-			
-			// if the user wants to quit/go back, just return
-			if (response.contains("back") || response.contains("quit"))
-			{ return; }
-			
-			// otherwise, try to parse the integer from the response
-			try
-			{ count = Integer.parseInt(response); }
-			catch (Exception e)
-			{ printConsoleLine(MessageType.ERROR, "Please enter a number, or type \"back\""); }
-		}
-		
-		// read input for a password length range
-		printConsoleLine(MessageType.STANDARD, "Is there a specific range of length you want these passwords to be?");
-		printConsoleLine(MessageType.STANDARD, "Enter the range like so: \"X-Y\" (you can also say \"no\")");
-		int[] range = {-1, -1};
-		boolean wantsRange = true;	// whether or not the user actually wants a length range
-		while (wantsRange && (range[0] <= 0 || range[1] <= 0))
-		{
-			// read user response
-			String response = readLine().toLowerCase();
-			
-			// if the user wants to quit/go back, just return
-			if (response.contains("back") || response.contains("quit"))
-			{ return; }
-			
-			// if the user says "no", then they don't want
-			// a specific range, so exit the loop
-			if (response.contains("no"))
-			{ wantsRange = false; }
-			else
-			{
-				// otherwise, try to parse integers from the response
-				try
-				{
-					String[] bits = response.split("-");
-					range[0] = Integer.parseInt(bits[0]);
-					range[1] = Integer.parseInt(bits[1]);
-					
-					// if the range isn't correct, flip them!
-					if (range[0] > range[1])
-					{
-						int temp = range[1];
-						range[1] = range[0];
-						range[0] = temp;
-					}
-				}
-				catch (Exception e)
-				{ printConsoleLine(MessageType.ERROR, "Please enter a range (\"X-Y\"), type \"no\", or type \"back\""); }				
-			}
-		}
-		
-		// if the range has been set, set the generator's range
-		if (wantsRange)
-		{
-			printConsoleLine(MessageType.STANDARD,
-					"Passwords of lengths between " + range[0] + " and " + range[1] + " characters will be created.");
-			gen.setLengthRange(range[0], range[1]);
-		}
-		
-		// create the passwords!
-		printConsoleLine(MessageType.STANDARD, "Generating passwords...");
-		printConsoleLine(MessageType.PLAIN, "");
-		String[] passwords = gen.makePasswords(count);
-		printConsoleLine(MessageType.PLAIN, "");
-		
-		// print the passwords!
-		printPasswords(passwords);
-	}
-	
-	/**
-	 * Prompts the user to adjust various settings regarding
-	 * password generation
-	 * @param gen - the generator to use for password generation
-	 * @return returns the modified generator object
-	 */
-	private static Generator passwordSettings(Generator gen)
-	{
-		String response = "";
-		// repeat this entire process until the user wants out
-		while (!response.contains("back"))
-		{
-			// clear the console
-			clearConsole();
-			
-			// set up strings to indicate usages
-			String numUsage = "OFF";
-			if (gen.getUseNumbers())
-			{ numUsage = "ON"; }
-			
-			String symUsage = "OFF";
-			if (gen.getUseSymbols())
-			{ symUsage = "ON"; }
-			
-			String undUsage = "OFF";
-			if (gen.getUseUnderscores())
-			{ undUsage = "ON"; }
-			
-			// print the menu
-			printConsoleLine(MessageType.PLAIN, "");
-			printConsoleLine(MessageType.STANDARD, "What would you like to adjust?");
-			printConsoleLine(MessageType.HEADER, "  1) Toggle Number Usage       (Currently: " + numUsage + ")");
-			printConsoleLine(MessageType.HEADER, "  2) Toggle Symbol Usage       (Currently: " + symUsage + ")");
-			printConsoleLine(MessageType.HEADER, "  3) Toggle Underscore Usage   (Currently: " + undUsage + ")");
-		
-			// get user input
-			int decision = -1;
-			while (decision < 0)
-			{
-				// read the user response
-				response = readLine().toLowerCase();
-				
-				// chose "back"
-				if (response.contains("back"))
-				{ decision = 0; }
-				// chose "Toggle Number Usage"
-				else if (response.contains("1") || response.contains("number"))
-				{ decision = 1; }
-				// chose "Toggle Symbol Usage"
-				else if (response.contains("2") || response.contains("symbol"))
-				{ decision = 2; }
-				// chose "Toggle Underscore Usage"
-				else if (response.contains("3") || response.contains("underscore"))
-				{ decision = 3; }
-				// didn't choose any of the valid responses
-				else
-				{
-					printConsoleLine(MessageType.ERROR, "Sorry that's not a valid choice. (You can always say \"back\")");
-				}			
-			}
-			
-			// determine what to adjust with the decision
-			switch (decision)
-			{
-				case 1:
-					// flip the number usage preference
-					gen.userWantsNumbers(!gen.getUseNumbers());
-					// print out the result
-					if (numUsage.equals("OFF"))
-					{ printConsoleLine(MessageType.STANDARD, "Number usage is now ON"); }
-					else
-					{ printConsoleLine(MessageType.STANDARD, "Number usage is now OFF"); }
-					break;
-				
-				case 2:
-					// flip the symbol usage preference
-					gen.userWantsSymbols(!gen.getUseSymbols());
-					// print out the result
-					if (symUsage.equals("OFF"))
-					{ printConsoleLine(MessageType.STANDARD, "Symbol usage is now ON"); }
-					else
-					{ printConsoleLine(MessageType.STANDARD, "Symbol usage is now OFF"); }
-					break;
-					
-				case 3:
-					// flip the underscore usage prefrence
-					gen.userWantsUnderscores(!gen.getUseUnderscores());
-					// print out the result
-					if (undUsage.equals("OFF"))
-					{ printConsoleLine(MessageType.STANDARD, "Underscore usage is now ON"); }
-					else
-					{ printConsoleLine(MessageType.STANDARD, "Underscore usage is now OFF"); }
-			}
-			
-		}
-		
-		// return the modified generator
-		return gen;
-	}
-	
-	/**
-	 * Function that allows the user to add their favorite
-	 * words to their personal word bank.
-	 * @param user - the UserData object to modify
-	 * @return the modified UserData object
-	 */
-	private static UserData addToWordBank(UserData user)
-	{
-		// print the introduction
-		printSnowman();
-		printConsoleLine(MessageType.DIALOGUE, "Do you want your passwords to be a bit more interesting?");
-		printConsoleLine(MessageType.DIALOGUE, "You can tell me some of your favorite words here.");
-		printConsoleLine(MessageType.DIALOGUE, "I'll remember them, and you'll see those words in future passwords!");
-		printConsoleLine(MessageType.PLAIN, "");
-
-		printConsoleLine(MessageType.STANDARD, "(You can say \"back\" to return to the main menu.)");
-		printConsoleLine(MessageType.STANDARD, "(You can say \"view\" to see all the words in your word bank.)");
-		printConsoleLine(MessageType.STANDARD, "(You can say \"clear\" to empty your word bank.");
-		printConsoleLine(MessageType.PLAIN, "");
-		
-		// go through this entire process until the user
-		// is done adding words to their word bank
-		boolean done = false;
-		while (!done)
-		{
-			// print the "header"
-			printConsoleLine(MessageType.STANDARD, "Enter a word, and press enter to add it to your word bank.");
-			
-			// get user input
-			String response = readLine().toLowerCase();
-			
-			// if the user wants out, exit the loop
-			if (response.contains("back"))
-			{ done = true; }			
-			// if the user wants to view their words:
-			else if (response.contains("view"))
-			{
-				printSnowman();
-				String[] words = user.getFavWords();
-				
-				if (words.length > 0)
-				{
-					printConsoleLine(MessageType.DIALOGUE, "Here are all the words you've had me remember:");
-					// iterate through each word and print it out
-					for (int i = 0; i < words.length; i ++)
-					{
-						printConsoleLine(MessageType.PLAIN, words[i]);
-					}
-				}
-				else
-				{
-					printConsoleLine(MessageType.DIALOGUE, "You haven't told me to remember any words!");
-				}
-			}
-			// if the user wants to empty their word bank
-			else if (response.contains("clear"))
-			{
-				// clear the words!
-				user.clearWords();
-				printConsoleLine(MessageType.STANDARD, "Your word bank has been cleared.");
-			}
-			// otherwise, add the word to the word bank
-			// (as long as it's one word)
-			else
-			{
-				if (!response.contains(" ") && !response.isEmpty())
-				{
-					// make sure the list already doesn't have this word
-					if (!user.hasFavWord(response))
-					{
-						// add the word to the word bank
-						user.addFavWord(response);
-						// report that the word was added
-						printConsoleLine(MessageType.STANDARD, "\"" + response + "\"" + " has been added to your word bank.");
-					}
-					else
-					{ printConsoleLine(MessageType.STANDARD, "You already have this word in your word bank!"); }
-				}
-				else
-				{
-					printConsoleLine(MessageType.ERROR, "Make sure you only enter one word per line!");
-				}
-			}
-			
-			printConsoleLine(MessageType.PLAIN, "");
-		}
-		
-		// return the modified UserData object
-		return user;
-	}
-	
-	// ------------ Command-Line Argument Handling ------------- //
-	/**
-	 * Helper function that takes in the command-line arguments, and the
-	 * name of the argument to search for. If it's found, the index in args[]
-	 * is returned
-	 * @param args - the command-line argument array
-	 * @param findMe - the argument to find in the array
-	 * @return the index findMe was found at, or -1 if not found
-	 */
-	private static int findArgument(String[] args, String findMe)
-	{
-		int index = -1;
-		
-		// iterate through the array and search for the argument
-		for (int i = 0; i < args.length; i++)
-		{
-			if (args[i].contains(findMe))
-			{ index = i; }
-		}
-		
-		return index;
-	}
-	
-	/**
-	 * Method that checks for the user wanting to quickly generate a given
-	 * number of passwords (this will happen only if the user enters the
-	 * correct command-line argument)
-	 * @param count - the number of passwords to generate
-	 * @return a boolean indicating whether or not the quick generation
-	 * 		   was completed
-	 */
-	private static boolean checkQuickGeneration(String[] args, Generator gen)
-	{
-		// look for the correct argument in args
-		int quickIndex = findArgument(args, "quick");
-		if (quickIndex >= 0)
-		{
-			// try to read the number of passwords to generate as the next argument
-			try
-			{
-				int numPasswords = Integer.parseInt(args[quickIndex + 1]);				
-				printConsoleLine(MessageType.STANDARD,
-						"Quick-generation: generating " + numPasswords + " passwords...");
-				printConsoleLine(MessageType.PLAIN, "");
-				
-				// create the passwords and print them out
-				String[] passwords = gen.makePasswords(numPasswords);
-				printConsoleLine(MessageType.PLAIN, "");
-				printPasswords(passwords);
-				
-				return true;
-			}
-			catch (Exception e)
-			{
-				printConsoleLine(MessageType.ERROR,
-						"Quick-generation failed: Argument must be in the format: \"quick X\"");
-				return false;
-			}
-		}
-		
-		return false;
-	}
-	
-	/**
-	 * Helper method that looks for user preferences in the arguments (such as turning
-	 * numbers, symbols, or underscores on/off), applies them to the password generator,
-	 * and returns it.
-	 * @param args - the command-line arguments to read from
-	 * @param gen - the password generator to modify
-	 * @return the modified password generator
-	 */
-	private static Generator applyUserPreferences(String[] args, Generator gen)
-	{
-		// search for all 3 arguments
-		String[] commands = {"numbers", "symbols", "underscores"};
-		int[] indexes = {-1, -1, -1};
-		boolean[] prefs = {false, false, false};
-		String[] reports = {"Number usage is ", "Symbol usage is ", "Underscore usage is "};
-		
-		// iterate through all 3 commands, searching for command-line
-		// arguments containing specified preferences for each
-		for (int i = 0; i < commands.length; i++)
-		{		
-			// find the current index
-			indexes[i] = findArgument(args, commands[i]);
-
-			// only try to parse the preference input if the argument
-			// was found in the command-line arguments
-			if (indexes[i] >= 0)
-			{
-				// if the argument was found, try to get the "on/off" portion
-				try
-				{
-					String preference = args[indexes[i] + 1];
-					prefs[i] = preference.toLowerCase().equals("on");
-	
-					// apply the correct preference to the correct
-					// generator property
-					switch (i)
-					{
-						case 0:
-							gen.userWantsNumbers(prefs[i]);
-							break;
-						case 1:
-							gen.userWantsSymbols(prefs[i]);
-							break;
-						case 2:
-							gen.userWantsUnderscores(prefs[i]);
-							break;
-					}
-				}
-				catch (Exception e)
-				{
-					printConsoleLine(MessageType.ERROR,
-							"Exception occurred while setting user preferences on using " + commands[i]);
-					printConsoleLine(MessageType.ERROR, 
-							"Make sure each preference is formatted like so: \"<preference> <on/off>\"");
-				}
-			}
-			
-			// report the usage setting for each preference
-			if (prefs[i])
-			{ printConsoleLine(MessageType.STANDARD, reports[i] + "ON"); }
-			else
-			{ printConsoleLine(MessageType.STANDARD, reports[i] + "OFF"); }
-			
-		}
-		
-		// print a line break
-		printConsoleLine(MessageType.PLAIN, "");;
-		
-		// return the modified generator
-		return gen;
-		
-	}
-	
-	
-	// ------------------- Printing Methods ------------------- //
-	/**
-	 * Helper function that prints a given string to the console, with a
-	 * certain prefix or suffix attached to it.
-	 * @param printMe - the string to print to the console
-	 */
-	private static void printConsoleLine(MessageType type, String printMe)
-	{
-		String prefix = "";
-		String suffix = "";
-		switch (type)
-		{
-			case STANDARD:
-				prefix = "> ";
-				break;
-			case ERROR:
-				prefix = "! ";
-				break;
-			case HEADER:
-				prefix = "  ";
-				break;
-			case DIALOGUE:
-				prefix = " \"";
-				suffix = "\"";
-				break;
-			default:
-				// do nothing - this was just to get
-				// Eclipse to shut up
-				break;
-		}
-		
-		System.out.print(prefix + printMe + suffix + "\n");
-	}
-	
-	/**
-	 * Helper function that prints a string, either to the command-line
-	 * output, or a specified file. (If the given file is null, the function
-	 * will print to the standard output instead.) The string will be appended
-	 * to the given file
-	 * @param printMe - the string to print
-	 * @param filePath - the path to the file to append to
-	 */
-	private static void printString(String printMe, String filePath)
-	{
-		if (filePath == null)
-		{
-			// if the file path is null, just print
-			// the string to command-line output
-			System.out.print(printMe);
-		}
-		else
-		{
-			// if the file path isn't null, try opening up and appending
-			// the string to it. If this fails, an IOException will
-			// be caught and reported.
-			try
-			{
-				BufferedWriter file = new BufferedWriter(new FileWriter(filePath, true));
-				file.write(printMe);
-				file.close();
-			}
-			catch (IOException e)
-			{
-				System.out.println("! Exception occurred while writing to file.");
-			}
-		}
-	}
-	
-	/**
-	 * Helper method that prints out a list of given passwords
-	 * to the command-line (or maybe a file)
-	 * @param passwords - the array of passwords to print
-	 */
-	private static void printPasswords(String[] passwords)
-	{		
-		// print a snowman with some snow
-		printSnowmanWithSnow();
-		printConsoleLine(MessageType.DIALOGUE, "Let it snow! (pretend those snowflakes are passwords)");
-		printConsoleLine(MessageType.PLAIN, "");
-		
-		// print out each password on its own line
-		for (int i = 0; i < passwords.length; i++)
-		{
-			printString(passwords[i] + "\n", null);
-		}
-	}
-	
-	/**
-	 * Helper method that prints an ASCII snowman
-	 */
-	private static void printSnowman()
-	{
-		printConsoleLine(MessageType.HEADER, "   _==_ _");
-		printConsoleLine(MessageType.HEADER, " _,(\",)|_|");
-		printConsoleLine(MessageType.HEADER, "  \\/. \\-|");
-		printConsoleLine(MessageType.HEADER, "__( :  )|_");
-		
-		// print a blank line
-		printConsoleLine(MessageType.PLAIN, "");;
-	}
-
-	/**
-	 * Helper method that prints some ASCII snow!
-	 */
-	private static void printSnowmanWithSnow()
-	{
-		printConsoleLine(MessageType.HEADER, "   _==_ _   *  .      .   *  *     .    *   *   .   *  .");
-		printConsoleLine(MessageType.HEADER, " _,(\",)|_|    *  .   *    .  *  .    . *   .    .   *");
-		printConsoleLine(MessageType.HEADER, "  \\/. \\-|   .   .    *   . .     *     *    *    * .   *");
-		printConsoleLine(MessageType.HEADER, "__( :  )|_  *   .  *   *  .  * *   *   .  *   . .   * .");
-		
-		// print a blank line
-		printConsoleLine(MessageType.PLAIN, "");;
-	}
-	
-	/**
-	 * Prints the main error message, if an error occurs
-	 * while the program is running.
-	 */
-	private static void printErrorMessage()
-	{
-		// print a sad snowman (has a period for a mouth
-		// instead of a comma, lol)
-		printConsoleLine(MessageType.HEADER, "   _==_ _");
-		printConsoleLine(MessageType.HEADER, " _,(\".)|_|");
-		printConsoleLine(MessageType.HEADER, "  \\/. \\-|");
-		printConsoleLine(MessageType.HEADER, "__( :  )|_");
-		
-		// print a blank line
-		printConsoleLine(MessageType.PLAIN, "");;
-		
-		printConsoleLine(MessageType.DIALOGUE, "Hmm... something went wrong.");
-		printConsoleLine(MessageType.PLAIN, "");
-		printConsoleLine(MessageType.ERROR, "Make sure the following is true:");
-		printConsoleLine(MessageType.ERROR, "    1) There's two folders in the same directory as the executable:");
-		printConsoleLine(MessageType.ERROR, "       \"data\" and \"data_words\".");
-		printConsoleLine(MessageType.ERROR, "    2) \"data\" contains a text file called \"userData.txt\".");
-		printConsoleLine(MessageType.ERROR, "       (if one isn't there, you can create an empty one.)");
-		printConsoleLine(MessageType.ERROR, "    3) \"data\" contains a text file called \"genData.txt\".");
-		printConsoleLine(MessageType.ERROR, "       (if one isn't there, you can create an empty one.)");
-		printConsoleLine(MessageType.ERROR, "    4) \"data_words\" has all the \"words<0-9>.txt\" text files inside it.");
-	}
-	
-	/**
-	 * Helper method that clears the console's contents
-	 */
-	private static void clearConsole()
-	{
-		for (int i = 0; i < 10; i++)
-		{ System.out.println("\n\n\n\n\n\n\n\n\n\n"); }
-	}
-	
-}
+package passgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Scanner;
+
+/**
+ * A class that serves as the UI for the user. Takes
+ * in user input and passes it along to other classes
+ * to get passwords generated.
+ * 
+ * @author Connor Shugg
+ * @version 2019-2-18
+ */
+public class Prompter
+{	
+	private static Scanner scanner;
+	
+	// NOTE TO SELF:
+	// Ask the user questions such as:
+	//  -Is there a certain range you want?
+	//	  -If so, what is it? (upper/lower bounds)
+	//	-Do you want numbers in the password?
+	//	-Do you want symbols in the password?
+	//	-Do you want underscores in the password?
+	//  -How many passwords do you want?
+	
+	// Command-line argument list:
+	// "quick <X>"				Tells the program to skip everything and
+	//							just generate X number of passwords.
+	// "numbers <on/off>"		Turns numbers on/off in the password generator (off by default)
+	// "symbols <on/off>"		Turns symbols on/off in the password generator (off by default)
+	// "underscores <on/off>"	Turns underscores on/off in the password generator (off by default)
+	// "random <mode>"			Picks where random numbers come from: "pooled" (SecureRandom bytes
+	//							buffered by a background thread, the default), "secure" (SecureRandom,
+	//							buffered inline) or "fast" (SplittableRandom - NOT secure, for benchmarking)
+	// "minbits <X>"			Remakes any password with less than X bits of entropy (failing if
+	//							the settings can't reach X)
+	// "entropy <on/off>"		Shows each "quick" password's entropy next to it (off by default)
+	// "parallel <on/off>"		Splits "quick" generation across every CPU core (off by default)
+	// "unique <on/off>"		Never hands out the same password twice, across every run, by
+	//							recording issued passwords in "data/issued.bin" (off by default)
+	// "pipeline <on/off>"		Makes "quick" passwords on their own threads, handing them to a
+	//							writer thread through a lock-free queue (off by default)
+	// "progress <on/off>"		Shows how a batch is coming along (rate and time left) while it's
+	//							made, unless the output needs to stay machine-readable (on by default)
+	// "output <file>"			Appends "quick" passwords to the given file (through one large
+	//							buffer) instead of printing them
+	// "serve <port>"			Keeps the generator loaded and serves passwords over HTTP on the local
+	//							machine (GET http://127.0.0.1:<port>/passwords?count=X&numbers=on...)
+	// "weights <w0,w1,...>"	Weights each word file (words0.txt, words1.txt, ...), so words from
+	//							heavier files are picked more often (all equal by default)
+	// "dictionary <file>"		Pulls words from the given file (one word per line, memory-mapped)
+	//							instead of the files in "data_words"
+	
+	/**
+	 * Enum used by print methods to determine what
+	 * prefix to give a message being printed to the
+	 * console.
+	 * 
+	 * @author Connor Shugg
+	 * @version 2019-2-18
+	 */
+	private enum MessageType
+	{ PLAIN, STANDARD, ERROR, HEADER, DIALOGUE }
+	
+	/**
+	 * Main method - takes in command-line arguments to help
+	 * the user specify what they want to do
+	 * @param args - the String array of command-line arguments
+	 */
+	public static void main(String[] args)
+	{
+		long startTime = System.nanoTime();
+		printConsoleLine(MessageType.PLAIN, "");
+		printConsoleLine(MessageType.HEADER, "---------------------------------------");
+		printConsoleLine(MessageType.HEADER, "Welcome to Snowflake Password Generator");
+		printConsoleLine(MessageType.HEADER, "---------------------------------------");
+		
+		// if any of the code here fails, alert the user
+		Generator pgen = null;
+		boolean serving = false;
+		try
+		{
+			// if a dictionary file was given, map it in before
+			// the generator goes looking for words
+			checkDictionary(args);
+			
+			// create the password generator, which loads the user's
+			// data and the word index in the background. Generating
+			// right away ("quick" or "serve") needs the words, so
+			// wait for them and report on the index; otherwise the
+			// menu comes up while they load
+			pgen = new Generator(true);
+			boolean interactive = findArgument(args, "quick") < 0 && findArgument(args, "serve") < 0;
+			if (!interactive)
+			{
+				pgen.whenLoaded().join();
+				printWordIndexReport(WordIndex.getShared());
+			}
+			
+			// apply user preferences, based on the arguments
+			pgen = applyUserPreferences(args, pgen);
+			checkRandomSource(args, pgen);
+			checkMinimumEntropy(args, pgen);
+			checkUniquePasswords(args, pgen);
+			checkShowProgress(args, pgen);
+			checkSourceWeights(args, pgen);
+			
+			// check for the "serve" argument. If so, keep the generator
+			// running and hand out passwords to whoever asks
+			if (checkServe(args, pgen))
+			{
+				serving = true;
+				return;
+			}
+			
+			// check for the "quick" argument. If so, quickly
+			// generate some passwords in this method:
+			boolean generated = checkQuickGeneration(args, pgen);
+			
+			// if passwords weren't generated, move onto the
+			// "main" program
+			if (!generated)
+			{ mainThread(pgen, startTime); }
+		
+		}
+		catch (Exception e)
+		{
+			printErrorMessage();
+		}
+		finally
+		{
+			// remember every password that was handed out, even if
+			// something went wrong along the way (a running server
+			// does this itself, when it's stopped)
+			if (pgen != null && !serving)
+			{ saveIssuedPasswords(pgen); }
+		}
+	}
+	
+	
+	// -------------------- Main Processes ------------------- //
+	/**
+	 * The "main thread" of the program. Follows a set of user prompts
+	 * to get passwords generated.
+	 * @param gen - the generator to use for password creation
+	 * @param startTime - when the program started (from System.nanoTime())
+	 */
+	private static void mainThread(Generator gen, long startTime)
+	{
+		// open the scanner
+		scanner = new Scanner(System.in);
+		//--------------------------------
+		
+		// retrieve the UserData (waiting for it to load, if need be),
+		// and report how long it took to get here
+		UserData ud = gen.getUserData();
+		printStartupReport(gen, startTime);
+		
+		// if the user's name is null, have the user set it up
+		if (ud.getUserName() == null)
+		{
+			ud.setUserName(promptUserName());
+			ud.saveUserData();
+		}
+		else
+		{
+			// otherwise, get the snowman to say hello!
+			printSnowman();
+			printConsoleLine(MessageType.DIALOGUE, "Hello, " + ud.getUserName() + ". It's me, Dan the Snowman.");
+			printConsoleLine(MessageType.DIALOGUE, "Let's make some passwords!");
+		}
+		
+		// launch the "main menu"
+		int choice = mainMenu(gen);
+		
+		// repeat this process while the user doesn't want to quit
+		while (choice != 3)
+		{
+			// clear the console
+			clearConsole();
+			
+			// determine what to do after the user chooses
+			switch (choice)
+			{
+				case 0:		// chose "Make Passwords"
+					promptPasswords(gen);
+					break;
+					
+				case 1:		// chose "Password Settings"
+					gen = passwordSettings(gen);
+					break;
+					
+				case 2:		// chose "Personalize"
+					ud = addToWordBank(ud);
+					// set the generator's UserData and save the
+					// UserData to a file
+					gen.setUserData(ud);
+					ud.saveUserData();
+					break;
+			}
+			
+			// get the choice again
+			choice = mainMenu(gen);
+		}
+		
+		// say goodbye! Program will close soon
+		printConsoleLine(MessageType.STANDARD, "Goodbye!");
+		
+		//--------------------------------
+		// close the scanner
+		scanner.close();
+	}
+	
+	/**
+	 * Prints and handles user interaction with the program's
+	 * "main menu"
+	 * @param gen - the generator used to create passwords
+	 */
+	private static int mainMenu(Generator gen)
+	{
+		printConsoleLine(MessageType.PLAIN, "");
+		printConsoleLine(MessageType.STANDARD, "What would you like to do?");
+		printConsoleLine(MessageType.HEADER, "  1) Make Passwords");
+		printConsoleLine(MessageType.HEADER, "  2) Password Settings");
+		printConsoleLine(MessageType.HEADER, "  3) Personalize");
+		printConsoleLine(MessageType.HEADER, "  4) Quit");
+		
+		// get the user's preference
+		int responseIndex = -1;
+		while (responseIndex < 0)
+		{
+			// get the user response
+			String response = readLine().toLowerCase();
+			
+			// chose: MAKE PASSWORDS
+			if (response.contains("1") || response.contains("make"))
+			{ responseIndex = 0; }
+			// chose: PASSWORD SETTINGS
+			else if (response.contains("2") || response.contains("settings"))
+			{ responseIndex = 1; }
+			// chose: PERSONALIZE
+			else if (response.contains("3") || response.contains("personalize"))
+			{ responseIndex = 2; }
+			// chose: QUIT
+			else if (response.contains("4") || response.contains("personalize"))
+			{ responseIndex = 3; }
+			// didn't choose any of the options
+			else
+			{
+				printConsoleLine(MessageType.ERROR, "Sorry, that's not a valid option.");
+			}
+		}
+		
+		return responseIndex;
+	}
+	
+	// --------------- Input/UserData Modification -------------- //
+	/**
+	 * Reads a line of user input from the command line, using the
+	 * scanner initialized in mainThread()
+	 * @return the string that was read, or null, if an error occurred
+	 */
+	private static String readLine()
+	{
+		try
+		{
+			return scanner.nextLine();
+		}
+		catch (Exception e)
+		{
+			return null;
+		}
+		
+	}
+		
+	/**
+	 * Prompts the user to enter their name, to be saved
+	 * into the UserData object.
+	 * @return a string - the user's inputted name
+	 */
+	private static String promptUserName()
+	{
+		// print a little bit of intro dialogue
+		printSnowman();
+		printConsoleLine(MessageType.DIALOGUE, "I am... Dan. The password-making Snowman.");
+		printConsoleLine(MessageType.DIALOGUE, "Ever since I was given this magic hat, I've been alive!");
+		printConsoleLine(MessageType.DIALOGUE, "Strangely, my only desire is to create randomized passwords...");
+		printConsoleLine(MessageType.PLAIN, "");
+		printConsoleLine(MessageType.DIALOGUE, "What is YOUR name?");
+		
+		// open a scanner and read the name from the console
+		String name = readLine();
+		
+		// make sure the name isn't null, and respond
+		if (name != null)
+		{ printConsoleLine(MessageType.DIALOGUE, "Nice to meet you " + name + "! Let's make some passwords."); }
+		else
+		{ printConsoleLine(MessageType.DIALOGUE, "Hmm, I couldn't read your name, for some reason."); }			
+		
+		return name;
+	}
+	
+	/**
+	 * Prompts the user various questions to create passwords
+	 * @param gen - the generator to make passwords with
+	 */
+	private static void promptPasswords(Generator gen)
+	{
+		// read input for the number of passwords the user wants
+		printConsoleLine(MessageType.STANDARD, "How many passwords do you want?");
+		int count = -1;
+		while (count <= 0)
+		{
+			// read user response
+			String response = readLine().toLowerCase();
+			
+			// if the user wants to quit/go back, just return
+			if (response.contains("back") || response.contains("quit"))
+			{ return; }
+			
+			// otherwise, try to parse the integer from the response
+			try
+			{ count = Integer.parseInt(response); }
+			catch (Exception e)
+			{ printConsoleLine(MessageType.ERROR, "Please enter a number, or type \"back\""); }
+		}
+		
+		// read input for a password length range
+		printConsoleLine(MessageType.STANDARD, "Is there a specific range of length you want these passwords to be?");
+		printConsoleLine(MessageType.STANDARD, "Enter the range like so: \"X-Y\" (you can also say \"no\")");
+		int[] range = {-1, -1};
+		boolean wantsRange = true;	// whether or not the user actually wants a length range
+		while (wantsRange && (range[0] <= 0 || range[1] <= 0))
+		{
+			// read user response
+			String response = readLine().toLowerCase();
+			
+			// if the user wants to quit/go back, just return
+			if (response.contains("back") || response.contains("quit"))
+			{ return; }
+			
+			// if the user says "no", then they don't want
+			// a specific range, so exit the loop
+			if (response.contains("no"))
+			{ wantsRange = false; }
+			else
+			{
+				// otherwise, try to parse integers from the response
+				try
+				{
+					String[] bits = response.split("-");
+					range[0] = Integer.parseInt(bits[0]);
+					range[1] = Integer.parseInt(bits[1]);
+					
+					// if the range isn't correct, flip them!
+					if (range[0] > range[1])
+					{
+						int temp = range[1];
+						range[1] = range[0];
+						range[0] = temp;
+					}
+				}
+				catch (Exception e)
+				{ printConsoleLine(MessageType.ERROR, "Please enter a range (\"X-Y\"), type \"no\", or type \"back\""); }				
+			}
+		}
+		
+		// if the range has been set, set the generator's range
+		if (wantsRange)
+		{
+			printConsoleLine(MessageType.STANDARD,
+					"Passwords of lengths between " + range[0] + " and " + range[1] + " characters will be created.");
+			gen.setLengthRange(range[0], range[1]);
+		}
+		
+		// create the passwords!
+		printConsoleLine(MessageType.STANDARD, "Generating passwords...");
+		printConsoleLine(MessageType.PLAIN, "");
+		String[] passwords;
+		try
+		{
+			passwords = gen.makePasswords(count);
+		}
+		catch (IllegalStateException e)
+		{
+			printConsoleLine(MessageType.ERROR, e.getMessage());
+			return;
+		}
+		printConsoleLine(MessageType.PLAIN, "");
+		
+		// print the passwords!
+		printPasswords(passwords);
+	}
+	
+	/**
+	 * Prompts the user to adjust various settings regarding
+	 * password generation
+	 * @param gen - the generator to use for password generation
+	 * @return returns the modified generator object
+	 */
+	private static Generator passwordSettings(Generator gen)
+	{
+		String response = "";
+		// repeat this entire process until the user wants out
+		while (!response.contains("back"))
+		{
+			// clear the console
+			clearConsole();
+			
+			// set up strings to indicate usages
+			String numUsage = "OFF";
+			if (gen.getUseNumbers())
+			{ numUsage = "ON"; }
+			
+			String symUsage = "OFF";
+			if (gen.getUseSymbols())
+			{ symUsage = "ON"; }
+			
+			String undUsage = "OFF";
+			if (gen.getUseUnderscores())
+			{ undUsage = "ON"; }
+			
+			// print the menu
+			printConsoleLine(MessageType.PLAIN, "");
+			printConsoleLine(MessageType.STANDARD, "What would you like to adjust?");
+			printConsoleLine(MessageType.HEADER, "  1) Toggle Number Usage       (Currently: " + numUsage + ")");
+			printConsoleLine(MessageType.HEADER, "  2) Toggle Symbol Usage       (Currently: " + symUsage + ")");
+			printConsoleLine(MessageType.HEADER, "  3) Toggle Underscore Usage   (Currently: " + undUsage + ")");
+		
+			// get user input
+			int decision = -1;
+			while (decision < 0)
+			{
+				// read the user response
+				response = readLine().toLowerCase();
+				
+				// chose "back"
+				if (response.contains("back"))
+				{ decision = 0; }
+				// chose "Toggle Number Usage"
+				else if (response.contains("1") || response.contains("number"))
+				{ decision = 1; }
+				// chose "Toggle Symbol Usage"
+				else if (response.contains("2") || response.contains("symbol"))
+				{ decision = 2; }
+				// chose "Toggle Underscore Usage"
+				else if (response.contains("3") || response.contains("underscore"))
+				{ decision = 3; }
+				// didn't choose any of the valid responses
+				else
+				{
+					printConsoleLine(MessageType.ERROR, "Sorry that's not a valid choice. (You can always say \"back\")");
+				}			
+			}
+			
+			// determine what to adjust with the decision
+			switch (decision)
+			{
+				case 1:
+					// flip the number usage preference
+					gen.userWantsNumbers(!gen.getUseNumbers());
+					// print out the result
+					if (numUsage.equals("OFF"))
+					{ printConsoleLine(MessageType.STANDARD, "Number usage is now ON"); }
+					else
+					{ printConsoleLine(MessageType.STANDARD, "Number usage is now OFF"); }
+					break;
+				
+				case 2:
+					// flip the symbol usage preference
+					gen.userWantsSymbols(!gen.getUseSymbols());
+					// print out the result
+					if (symUsage.equals("OFF"))
+					{ printConsoleLine(MessageType.STANDARD, "Symbol usage is now ON"); }
+					else
+					{ printConsoleLine(MessageType.STANDARD, "Symbol usage is now OFF"); }
+					break;
+					
+				case 3:
+					// flip the underscore usage prefrence
+					gen.userWantsUnderscores(!gen.getUseUnderscores());
+					// print out the result
+					if (undUsage.equals("OFF"))
+					{ printConsoleLine(MessageType.STANDARD, "Underscore usage is now ON"); }
+					else
+					{ printConsoleLine(MessageType.STANDARD, "Underscore usage is now OFF"); }
+			}
+			
+		}
+		
+		// return the modified generator
+		return gen;
+	}
+	
+	/**
+	 * Function that allows the user to add their favorite
+	 * words to their personal word bank.
+	 * @param user - the UserData object to modify
+	 * @return the modified UserData object
+	 */
+	private static UserData addToWordBank(UserData user)
+	{
+		// print the introduction
+		printSnowman();
+		printConsoleLine(MessageType.DIALOGUE, "Do you want your passwords to be a bit more interesting?");
+		printConsoleLine(MessageType.DIALOGUE, "You can tell me some of your favorite words here.");
+		printConsoleLine(MessageType.DIALOGUE, "I'll remember them, and you'll see those words in future passwords!");
+		printConsoleLine(MessageType.PLAIN, "");
+
+		printConsoleLine(MessageType.STANDARD, "(You can say \"back\" to return to the main menu.)");
+		printConsoleLine(MessageType.STANDARD, "(You can say \"view\" to see all the words in your word bank.)");
+		printConsoleLine(MessageType.STANDARD, "(You can say \"clear\" to empty your word bank.");
+		printConsoleLine(MessageType.PLAIN, "");
+		
+		// go through this entire process until the user
+		// is done adding words to their word bank
+		boolean done = false;
+		while (!done)
+		{
+			// print the "header"
+			printConsoleLine(MessageType.STANDARD, "Enter a word, and press enter to add it to your word bank.");
+			
+			// get user input
+			String response = readLine().toLowerCase();
+			
+			// if the user wants out, exit the loop
+			if (response.contains("back"))
+			{ done = true; }			
+			// if the user wants to view their words:
+			else if (response.contains("view"))
+			{
+				printSnowman();
+				int wordCount = user.getFavWordCount();
+				
+				if (wordCount > 0)
+				{
+					printConsoleLine(MessageType.DIALOGUE, "Here are all the words you've had me remember:");
+					// iterate through each word and print it out
+					for (int i = 0; i < wordCount; i ++)
+					{
+						printConsoleLine(MessageType.PLAIN, user.getFavWord(i));
+					}
+				}
+				else
+				{
+					printConsoleLine(MessageType.DIALOGUE, "You haven't told me to remember any words!");
+				}
+			}
+			// if the user wants to empty their word bank
+			else if (response.contains("clear"))
+			{
+				// clear the words!
+				user.clearWords();
+				printConsoleLine(MessageType.STANDARD, "Your word bank has been cleared.");
+			}
+			// otherwise, add the word to the word bank
+			// (as long as it's one word)
+			else
+			{
+				if (!response.contains(" ") && !response.isEmpty())
+				{
+					// add the word to the word bank (as long as
+					// the list doesn't already have it)
+					if (user.addFavWord(response))
+					{
+						// report that the word was added
+						printConsoleLine(MessageType.STANDARD, "\"" + response + "\"" + " has been added to your word bank.");
+					}
+					else
+					{ printConsoleLine(MessageType.STANDARD, "You already have this word in your word bank!"); }
+				}
+				else
+				{
+					printConsoleLine(MessageType.ERROR, "Make sure you only enter one word per line!");
+				}
+			}
+			
+			printConsoleLine(MessageType.PLAIN, "");
+		}
+		
+		// return the modified UserData object
+		return user;
+	}
+	
+	// ------------ Command-Line Argument Handling ------------- //
+	/**
+	 * Helper function that takes in the command-line arguments, and the
+	 * name of the argument to search for. If it's found, the index in args[]
+	 * is returned
+	 * @param args - the command-line argument array
+	 * @param findMe - the argument to find in the array
+	 * @return the index findMe was found at, or -1 if not found
+	 */
+	private static int findArgument(String[] args, String findMe)
+	{
+		int index = -1;
+		
+		// iterate through the array and search for the argument
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].contains(findMe))
+			{ index = i; }
+		}
+		
+		return index;
+	}
+	
+	/**
+	 * Method that checks for the user wanting to quickly generate a given
+	 * number of passwords (this will happen only if the user enters the
+	 * correct command-line argument)
+	 * @param count - the number of passwords to generate
+	 * @return a boolean indicating whether or not the quick generation
+	 * 		   was completed
+	 */
+	private static boolean checkQuickGeneration(String[] args, Generator gen)
+	{
+		// look for the correct argument in args
+		int quickIndex = findArgument(args, "quick");
+		if (quickIndex >= 0)
+		{
+			// try to read the number of passwords to generate as the next argument
+			try
+			{
+				int numPasswords = Integer.parseInt(args[quickIndex + 1]);				
+				printConsoleLine(MessageType.STANDARD,
+						"Quick-generation: generating " + numPasswords + " passwords...");
+				printConsoleLine(MessageType.PLAIN, "");
+				
+				// open the output: the file the user named, or the console
+				File outputFile = checkOutputFile(args);
+				PasswordWriter out;
+				if (outputFile != null)
+				{ out = PasswordWriter.toFile(outputFile); }
+				else
+				{
+					out = PasswordWriter.toConsole();
+					if (!checkParallel(args) || checkPipeline(args))
+					{ printPasswordHeader(); }
+				}
+				
+				// when the passwords are going to a file, the console is
+				// free to show how they're coming along (the parallel
+				// generator reports its own progress)
+				ProgressReporter progress = null;
+				if (outputFile != null && gen.getShowProgress()
+					&& (checkPipeline(args) || !checkParallel(args)))
+				{ progress = new ProgressReporter(numPasswords, System.out); }
+				
+				PasswordPipeline pipeline = null;
+				try
+				{
+					// hand the passwords from generator threads to a writer
+					// thread (if the user asked for it)
+					if (checkPipeline(args))
+					{
+						pipeline = new PasswordPipeline(gen);
+						pipeline.setProgress(progress);
+						pipeline.run(numPasswords, checkShowEntropy(args), out);
+					}
+					// create the passwords in parallel (if the user asked
+					// for it), and write them out
+					else if (checkParallel(args))
+					{
+						String[] passwords = gen.makePasswordsParallel(numPasswords);
+						printConsoleLine(MessageType.PLAIN, "");
+						if (outputFile == null)
+						{ printPasswordHeader(); }
+						for (int i = 0; i < passwords.length; i++)
+						{ out.writeLine(passwords[i]); }
+					}
+					// otherwise, write each password as soon as it's made,
+					// so the batch never has to be held in memory
+					else if (checkShowEntropy(args))
+					{
+						Iterator<GeneratedPassword> passwords =
+								gen.streamRatedPasswords(numPasswords).iterator();
+						for (long i = 1; passwords.hasNext(); i++)
+						{
+							GeneratedPassword p = passwords.next();
+							out.write(p.getPassword());
+							out.write("  (" + Math.round(p.getEntropy()) + " bits)\n");
+							if (progress != null)
+							{ progress.set(i); }
+						}
+					}
+					else
+					{
+						Iterator<String> passwords = gen.streamPasswords(numPasswords).iterator();
+						for (long i = 1; passwords.hasNext(); i++)
+						{
+							out.writeLine(passwords.next());
+							if (progress != null)
+							{ progress.set(i); }
+						}
+					}
+				}
+				finally
+				{
+					if (progress != null)
+					{ progress.finish(); }
+					out.close();
+				}
+				
+				if (pipeline != null)
+				{ printPipelineReport(pipeline); }
+				if (outputFile != null)
+				{
+					printConsoleLine(MessageType.STANDARD, "Wrote " + numPasswords
+							+ " passwords to " + outputFile.getPath());
+				}
+				
+				return true;
+			}
+			catch (IOException e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Quick-generation failed: couldn't write the passwords (" + e.getMessage() + ")");
+				return true;
+			}
+			catch (IllegalStateException e)
+			{
+				printConsoleLine(MessageType.ERROR, "Quick-generation failed: " + e.getMessage());
+				return true;
+			}
+			catch (Exception e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Quick-generation failed: Argument must be in the format: \"quick X\"");
+				return false;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Method that checks for the user wanting to run the password service.
+	 * If so, the service is started on the given local port, and keeps
+	 * running (until the program is stopped)
+	 * @param args - the command-line arguments to read from
+	 * @param gen - the password generator to serve passwords from
+	 * @return a boolean indicating whether the service was started
+	 */
+	private static boolean checkServe(String[] args, Generator gen)
+	{
+		int serveIndex = findArgument(args, "serve");
+		if (serveIndex >= 0)
+		{
+			try
+			{
+				int port = Integer.parseInt(args[serveIndex + 1]);
+				PasswordServer server = new PasswordServer(gen, port);
+				server.start();
+				
+				// when the program is stopped, finish up the requests in
+				// progress and remember every password that was handed out
+				Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+					server.stop();
+					saveIssuedPasswords(gen);
+				}));
+				printConsoleLine(MessageType.STANDARD, "Serving passwords at http://127.0.0.1:"
+						+ server.getPort() + "/passwords (stop with Ctrl-C)");
+				return true;
+			}
+			catch (IOException e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Couldn't start the password service: " + e.getMessage());
+			}
+			catch (Exception e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Serve argument must be in the format: \"serve <port>\"");
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Method that checks for the user choosing where random numbers come
+	 * from ("pooled", "secure" or "fast"), and applies it to the password generator
+	 * @param args - the command-line arguments to read from
+	 * @param gen - the password generator to modify
+	 */
+	private static void checkRandomSource(String[] args, Generator gen)
+	{
+		int randomIndex = findArgument(args, "random");
+		if (randomIndex >= 0)
+		{
+			String mode = "";
+			if (randomIndex + 1 < args.length)
+			{ mode = args[randomIndex + 1].toLowerCase(); }
+			
+			if (mode.equals("fast"))
+			{
+				gen.setRandomSource(RandomSource.fast());
+				printConsoleLine(MessageType.STANDARD, "Random numbers: fast (NOT cryptographically secure)");
+				printConsoleLine(MessageType.PLAIN, "");
+			}
+			else if (mode.equals("secure"))
+			{
+				gen.setRandomSource(RandomSource.secure());
+			}
+			else if (!mode.equals("pooled"))
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Random argument must be in the format: \"random <pooled/secure/fast>\"");
+				printConsoleLine(MessageType.PLAIN, "");
+			}
+		}
+	}
+	
+	/**
+	 * Method that checks for the user setting a minimum entropy (in bits)
+	 * for their passwords, and applies it to the password generator
+	 * @param args - the command-line arguments to read from
+	 * @param gen - the password generator to modify
+	 */
+	private static void checkMinimumEntropy(String[] args, Generator gen)
+	{
+		int bitsIndex = findArgument(args, "minbits");
+		if (bitsIndex >= 0)
+		{
+			try
+			{
+				double bits = Double.parseDouble(args[bitsIndex + 1]);
+				gen.setMinimumEntropy(bits);
+				printConsoleLine(MessageType.STANDARD, "Minimum entropy: " + bits + " bits");
+			}
+			catch (Exception e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Minimum entropy argument must be in the format: \"minbits X\"");
+			}
+			printConsoleLine(MessageType.PLAIN, "");
+		}
+	}
+	
+	/**
+	 * Method that checks for the user wanting every password to be one
+	 * that's never been handed out before. If so, the record of issued
+	 * passwords is loaded from the data folder and given to the generator
+	 * @param args - the command-line arguments to read from
+	 * @param gen - the password generator to modify
+	 */
+	private static void checkUniquePasswords(String[] args, Generator gen)
+	{
+		int uniqueIndex = findArgument(args, "unique");
+		if (uniqueIndex >= 0 && uniqueIndex + 1 < args.length
+			&& args[uniqueIndex + 1].toLowerCase().equals("on"))
+		{
+			File issuedFile = new File(gen.getUserData().getDataFolder(), "issued.bin");
+			try
+			{
+				IssuedPasswords issued = IssuedPasswords.load(issuedFile);
+				gen.setUniquePasswords(issued);
+				printConsoleLine(MessageType.STANDARD, "Unique passwords: ON ("
+						+ issued.getCount() + " passwords issued so far)");
+			}
+			catch (IOException e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Couldn't read the issued passwords file. Unique passwords are OFF.");
+			}
+			printConsoleLine(MessageType.PLAIN, "");
+		}
+	}
+	
+	/**
+	 * Helper function that saves the generator's record of issued
+	 * passwords (if it's keeping one) back to the data folder
+	 * @param gen - the password generator to save the record of
+	 */
+	private static void saveIssuedPasswords(Generator gen)
+	{
+		IssuedPasswords issued = gen.getUniquePasswords();
+		if (issued != null)
+		{
+			try
+			{
+				issued.save(new File(gen.getUserData().getDataFolder(), "issued.bin"));
+			}
+			catch (IOException e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Couldn't save the issued passwords file: " + e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Helper function that checks whether the user wants each "quick"
+	 * password's entropy printed next to it
+	 * @param args - the command-line arguments to read from
+	 * @return a boolean indicating whether entropy should be shown
+	 */
+	private static boolean checkShowEntropy(String[] args)
+	{
+		int entropyIndex = findArgument(args, "entropy");
+		return entropyIndex >= 0 && entropyIndex + 1 < args.length
+			&& args[entropyIndex + 1].toLowerCase().equals("on");
+	}
+	
+	/**
+	 * Helper function that checks whether the user has turned off
+	 * progress reporting, and applies it to the password generator
+	 * @param args - the command-line arguments to read from
+	 * @param gen - the password generator to modify
+	 */
+	private static void checkShowProgress(String[] args, Generator gen)
+	{
+		int progressIndex = findArgument(args, "progress");
+		if (progressIndex >= 0 && progressIndex + 1 < args.length)
+		{ gen.setShowProgress(!args[progressIndex + 1].toLowerCase().equals("off")); }
+	}
+	
+	/**
+	 * Helper function that checks whether the user wants "quick"
+	 * generation and output to run side by side, in a pipeline
+	 * @param args - the command-line arguments to read from
+	 * @return a boolean indicating whether the pipeline is on
+	 */
+	private static boolean checkPipeline(String[] args)
+	{
+		int pipelineIndex = findArgument(args, "pipeline");
+		return pipelineIndex >= 0 && pipelineIndex + 1 < args.length
+			&& args[pipelineIndex + 1].toLowerCase().equals("on");
+	}
+	
+	/**
+	 * Helper function that checks whether the user wants "quick"
+	 * passwords written to a file, rather than the console
+	 * @param args - the command-line arguments to read from
+	 * @return the file to write to, or null for the console
+	 */
+	private static File checkOutputFile(String[] args)
+	{
+		int outputIndex = findArgument(args, "output");
+		if (outputIndex >= 0 && outputIndex + 1 < args.length)
+		{ return new File(args[outputIndex + 1]); }
+		return null;
+	}
+	
+	/**
+	 * Helper function that checks whether the user wants "quick"
+	 * generation split across every CPU core
+	 * @param args - the command-line arguments to read from
+	 * @return a boolean indicating whether parallel generation is on
+	 */
+	private static boolean checkParallel(String[] args)
+	{
+		int parallelIndex = findArgument(args, "parallel");
+		return parallelIndex >= 0 && parallelIndex + 1 < args.length
+			&& args[parallelIndex + 1].toLowerCase().equals("on");
+	}
+	
+	/**
+	 * Method that checks for the user weighting the word files, and
+	 * applies the weights to the shared word index (once the generator
+	 * has finished loading it)
+	 * @param args - the command-line arguments to read from
+	 * @param gen - the generator whose loading to wait on
+	 */
+	private static void checkSourceWeights(String[] args, Generator gen)
+	{
+		int weightsIndex = findArgument(args, "weights");
+		if (weightsIndex >= 0)
+		{
+			try
+			{
+				String[] pieces = args[weightsIndex + 1].split(",");
+				double[] weights = new double[pieces.length];
+				for (int i = 0; i < pieces.length; i++)
+				{ weights[i] = Double.parseDouble(pieces[i].trim()); }
+				
+				// the weights are given to the word index once it's
+				// loaded (without waiting for it here)
+				String described = args[weightsIndex + 1];
+				gen.afterLoading(() -> applySourceWeights(weights, described));
+			}
+			catch (NumberFormatException e)
+			{
+				printConsoleLine(MessageType.ERROR, "Couldn't use the word file weights: " + e.getMessage());
+				printConsoleLine(MessageType.PLAIN, "");
+			}
+			catch (ArrayIndexOutOfBoundsException e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Weights argument must be in the format: \"weights <w0,w1,...>\"");
+				printConsoleLine(MessageType.PLAIN, "");
+			}
+		}
+	}
+	
+	/**
+	 * Helper function that gives the word index the word file weights
+	 * from the command line, reporting whether they could be used
+	 * @param weights - one weight per word file
+	 * @param described - the weights, as they were given
+	 */
+	private static void applySourceWeights(double[] weights, String described)
+	{
+		try
+		{
+			WordIndex.getShared().setSourceWeights(weights);
+			printConsoleLine(MessageType.STANDARD, "Word file weights: " + described);
+		}
+		catch (IllegalArgumentException e)
+		{
+			printConsoleLine(MessageType.ERROR, "Couldn't use the word file weights: " + e.getMessage());
+		}
+		printConsoleLine(MessageType.PLAIN, "");
+	}
+	
+	/**
+	 * Method that checks for the user wanting to pull words from their own
+	 * dictionary file. If so, the file is memory-mapped and used as the shared
+	 * word index (if it can't be mapped, the usual word files are used instead)
+	 * @param args - the command-line arguments to read from
+	 */
+	private static void checkDictionary(String[] args)
+	{
+		int dictIndex = findArgument(args, "dictionary");
+		if (dictIndex >= 0)
+		{
+			try
+			{
+				String path = args[dictIndex + 1];
+				WordIndex.setShared(new WordIndex(new File(path)));
+				printConsoleLine(MessageType.STANDARD, "Using dictionary: " + path);
+			}
+			catch (ArrayIndexOutOfBoundsException e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Dictionary argument must be in the format: \"dictionary <file>\"");
+			}
+			catch (IOException e)
+			{
+				printConsoleLine(MessageType.ERROR,
+						"Couldn't open the dictionary file. Using the default word files instead.");
+			}
+		}
+	}
+	
+	/**
+	 * Helper method that looks for user preferences in the arguments (such as turning
+	 * numbers, symbols, or underscores on/off), applies them to the password generator,
+	 * and returns it.
+	 * @param args - the command-line arguments to read from
+	 * @param gen - the password generator to modify
+	 * @return the modified password generator
+	 */
+	private static Generator applyUserPreferences(String[] args, Generator gen)
+	{
+		// search for all 3 arguments
+		String[] commands = {"numbers", "symbols", "underscores"};
+		int[] indexes = {-1, -1, -1};
+		boolean[] prefs = {false, false, false};
+		String[] reports = {"Number usage is ", "Symbol usage is ", "Underscore usage is "};
+		
+		// iterate through all 3 commands, searching for command-line
+		// arguments containing specified preferences for each
+		for (int i = 0; i < commands.length; i++)
+		{		
+			// find the current index
+			indexes[i] = findArgument(args, commands[i]);
+
+			// only try to parse the preference input if the argument
+			// was found in the command-line arguments
+			if (indexes[i] >= 0)
+			{
+				// if the argument was found, try to get the "on/off" portion
+				try
+				{
+					String preference = args[indexes[i] + 1];
+					prefs[i] = preference.toLowerCase().equals("on");
+	
+					// apply the correct preference to the correct
+					// generator property
+					switch (i)
+					{
+						case 0:
+							gen.userWantsNumbers(prefs[i]);
+							break;
+						case 1:
+							gen.userWantsSymbols(prefs[i]);
+							break;
+						case 2:
+							gen.userWantsUnderscores(prefs[i]);
+							break;
+					}
+				}
+				catch (Exception e)
+				{
+					printConsoleLine(MessageType.ERROR,
+							"Exception occurred while setting user preferences on using " + commands[i]);
+					printConsoleLine(MessageType.ERROR, 
+							"Make sure each preference is formatted like so: \"<preference> <on/off>\"");
+				}
+			}
+			
+			// report the usage setting for each preference
+			if (prefs[i])
+			{ printConsoleLine(MessageType.STANDARD, reports[i] + "ON"); }
+			else
+			{ printConsoleLine(MessageType.STANDARD, reports[i] + "OFF"); }
+			
+		}
+		
+		// print a line break
+		printConsoleLine(MessageType.PLAIN, "");;
+		
+		// return the modified generator
+		return gen;
+		
+	}
+	
+	
+	// ------------------- Printing Methods ------------------- //
+	/**
+	 * Helper function that prints a given string to the console, with a
+	 * certain prefix or suffix attached to it.
+	 * @param printMe - the string to print to the console
+	 */
+	private static void printConsoleLine(MessageType type, String printMe)
+	{
+		String prefix = "";
+		String suffix = "";
+		switch (type)
+		{
+			case STANDARD:
+				prefix = "> ";
+				break;
+			case ERROR:
+				prefix = "! ";
+				break;
+			case HEADER:
+				prefix = "  ";
+				break;
+			case DIALOGUE:
+				prefix = " \"";
+				suffix = "\"";
+				break;
+			default:
+				// do nothing - this was just to get
+				// Eclipse to shut up
+				break;
+		}
+		
+		System.out.print(prefix + printMe + suffix + "\n");
+	}
+	
+	/**
+	 * Helper method that prints out a list of given passwords
+	 * to the command-line (or maybe a file)
+	 * @param passwords - the array of passwords to print
+	 */
+	private static void printPasswords(String[] passwords)
+	{		
+		printPasswordHeader();
+		
+		// print out each password on its own line, through one
+		// buffer, so the console isn't flushed after every line
+		try
+		{
+			PasswordWriter out = PasswordWriter.toConsole();
+			for (int i = 0; i < passwords.length; i++)
+			{ out.writeLine(passwords[i]); }
+			out.close();
+		}
+		catch (IOException e)
+		{
+			System.out.println("! Exception occurred while printing passwords.");
+		}
+	}
+	
+	/**
+	 * Helper method that prints the snowman (with snow) that
+	 * introduces a list of passwords
+	 */
+	private static void printPasswordHeader()
+	{
+		// print a snowman with some snow
+		printSnowmanWithSnow();
+		printConsoleLine(MessageType.DIALOGUE, "Let it snow! (pretend those snowflakes are passwords)");
+		printConsoleLine(MessageType.PLAIN, "");
+	}
+	
+	/**
+	 * Helper method that reports how a pipeline run went: how deep
+	 * its queue got, and how often each side had to wait on the other
+	 * @param pipeline - the pipeline to report on
+	 */
+	private static void printPipelineReport(PasswordPipeline pipeline)
+	{
+		printConsoleLine(MessageType.PLAIN, "");
+		printConsoleLine(MessageType.STANDARD, "Pipeline: " + pipeline.getProducerCount()
+				+ " generator thread(s), deepest queue " + pipeline.getMaxDepth()
+				+ "/" + pipeline.getQueueCapacity());
+		printConsoleLine(MessageType.STANDARD, "Stalls: generators waited on a full queue "
+				+ pipeline.getProducerStalls() + " time(s), the writer waited on an empty queue "
+				+ pipeline.getWriterStalls() + " time(s)");
+	}
+	
+	/**
+	 * Helper method that reports how many words were loaded into
+	 * the given index, how much memory they take up, and how long
+	 * they took to load
+	 * @param index - the WordIndex to report on
+	 */
+	private static void printWordIndexReport(WordIndex index)
+	{
+		String source = "";
+		if (index.isCompiled())
+		{ source = " from the compiled word bank"; }
+		
+		printConsoleLine(MessageType.STANDARD, "Loaded " + index.getWordCount() + " words" + source
+				+ " (" + (index.getFootprint() / 1024) + " KB) in " + index.getLoadTime() + " ms");
+		printConsoleLine(MessageType.PLAIN, "");
+	}
+	
+	/**
+	 * Helper method that prints how long the program took to get to
+	 * its first prompt, and whether the word index is loaded yet
+	 * @param gen - the generator loading the word index
+	 * @param startTime - when the program started (from System.nanoTime())
+	 */
+	private static void printStartupReport(Generator gen, long startTime)
+	{
+		long elapsed = (System.nanoTime() - startTime) / 1000000;
+		if (gen.isLoaded())
+		{
+			printConsoleLine(MessageType.STANDARD, "Ready in " + elapsed + " ms.");
+			printWordIndexReport(WordIndex.getShared());
+		}
+		else
+		{
+			printConsoleLine(MessageType.STANDARD, "Ready in " + elapsed
+					+ " ms. (still loading words in the background)");
+			printConsoleLine(MessageType.PLAIN, "");
+		}
+	}
+	
+	/**
+	 * Helper method that prints an ASCII snowman
+	 */
+	private static void printSnowman()
+	{
+		printConsoleLine(MessageType.HEADER, "   _==_ _");
+		printConsoleLine(MessageType.HEADER, " _,(\",)|_|");
+		printConsoleLine(MessageType.HEADER, "  \\/. \\-|");
+		printConsoleLine(MessageType.HEADER, "__( :  )|_");
+		
+		// print a blank line
+		printConsoleLine(MessageType.PLAIN, "");;
+	}
+
+	/**
+	 * Helper method that prints some ASCII snow!
+	 */
+	private static void printSnowmanWithSnow()
+	{
+		printConsoleLine(MessageType.HEADER, "   _==_ _   *  .      .   *  *     .    *   *   .   *  .");
+		printConsoleLine(MessageType.HEADER, " _,(\",)|_|    *  .   *    .  *  .    . *   .    .   *");
+		printConsoleLine(MessageType.HEADER, "  \\/. \\-|   .   .    *   . .     *     *    *    * .   *");
+		printConsoleLine(MessageType.HEADER, "__( :  )|_  *   .  *   *  .  * *   *   .  *   . .   * .");
+		
+		// print a blank line
+		printConsoleLine(MessageType.PLAIN, "");;
+	}
+	
+	/**
+	 * Prints the main error message, if an error occurs
+	 * while the program is running.
+	 */
+	private static void printErrorMessage()
+	{
+		// print a sad snowman (has a period for a mouth
+		// instead of a comma, lol)
+		printConsoleLine(MessageType.HEADER, "   _==_ _");
+		printConsoleLine(MessageType.HEADER, " _,(\".)|_|");
+		printConsoleLine(MessageType.HEADER, "  \\/. \\-|");
+		printConsoleLine(MessageType.HEADER, "__( :  )|_");
+		
+		// print a blank line
+		printConsoleLine(MessageType.PLAIN, "");;
+		
+		printConsoleLine(MessageType.DIALOGUE, "Hmm... something went wrong.");
+		printConsoleLine(MessageType.PLAIN, "");
+		printConsoleLine(MessageType.ERROR, "Make sure the following is true:");
+		printConsoleLine(MessageType.ERROR, "    1) There's two folders in the same directory as the executable:");
+		printConsoleLine(MessageType.ERROR, "       \"data\" and \"data_words\".");
+		printConsoleLine(MessageType.ERROR, "    2) \"data\" can be written to. (your name and favorite words");
+		printConsoleLine(MessageType.ERROR, "       are saved there, in \"userData.bin\".)");
+		printConsoleLine(MessageType.ERROR, "    3) \"data\" contains a text file called \"genData.txt\".");
+		printConsoleLine(MessageType.ERROR, "       (if one isn't there, you can create an empty one.)");
+		printConsoleLine(MessageType.ERROR, "    4) \"data_words\" has all the \"words<0-9>.txt\" text files inside it.");
+	}
+	
+	/**
+	 * Helper method that clears the console's contents
+	 */
+	private static void clearConsole()
+	{
+		for (int i = 0; i < 10; i++)
+		{ System.out.println("\n\n\n\n\n\n\n\n\n\n"); }
+	}
+	
+}
@@ -0,0 +1,65 @@
+package passgen;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * An interface for the random numbers used to generate passwords.
+ * Every source is a RandomGenerator (so it has nextInt(bound) and
+ * friends), and can be split into an independent source for another
+ * thread or task to use, so that no two threads ever have to share
+ * (and fight over) one source.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public interface RandomSource extends RandomGenerator
+{
+	/**
+	 * Creates a new, independent source of the same kind, for
+	 * another thread or task to use.
+	 * @return the new RandomSource
+	 */
+	RandomSource split();
+
+	/**
+	 * Creates a cryptographically secure source, backed by SecureRandom.
+	 * @return the new RandomSource
+	 */
+	static RandomSource secure()
+	{
+		return new SecureRandomSource();
+	}
+
+	/**
+	 * Creates a cryptographically secure source that draws from
+	 * blocks of SecureRandom bytes filled ahead of time by a
+	 * background thread (see EntropyPool).
+	 * @return the new RandomSource
+	 */
+	static RandomSource pooled()
+	{
+		return new EntropyPool();
+	}
+
+	/**
+	 * Creates a fast (but NOT secure) source, backed by a SplittableRandom
+	 * for each thread. Meant for benchmarking and other non-secure runs.
+	 * @return the new RandomSource
+	 */
+	static RandomSource fast()
+	{
+		return new SplittableRandomSource();
+	}
+
+	/**
+	 * Creates a deterministic source: two sources made with the same
+	 * seed (and split the same way) produce the same numbers.
+	 * Meant for tests.
+	 * @param seed - the seed to start from
+	 * @return the new RandomSource
+	 */
+	static RandomSource seeded(long seed)
+	{
+		return new SeededRandomSource(seed);
+	}
+}
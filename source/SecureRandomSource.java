@@ -0,0 +1,63 @@
+package passgen;
+
+import java.security.SecureRandom;
+
+/**
+ * A cryptographically secure RandomSource. Asking SecureRandom for a
+ * few bytes at a time is slow, so this pulls random bytes from it in
+ * large blocks and hands them out four at a time. A single source
+ * isn't meant to be shared between threads; use split() to give
+ * each thread its own.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class SecureRandomSource implements RandomSource
+{
+	private static final int BLOCK_SIZE = 4096;	// bytes pulled from SecureRandom at once
+
+	private SecureRandom secure;		// where the random bytes come from
+	private byte[] block;				// the current block of random bytes
+	private int position;				// the next unused byte in the block
+
+	/**
+	 * Constructs a SecureRandomSource with its own SecureRandom.
+	 */
+	public SecureRandomSource()
+	{
+		secure = new SecureRandom();
+		block = new byte[BLOCK_SIZE];
+		position = BLOCK_SIZE;
+	}
+
+	@Override
+	public int nextInt()
+	{
+		// refill the whole block once it's used up
+		if (position + 4 > BLOCK_SIZE)
+		{
+			secure.nextBytes(block);
+			position = 0;
+		}
+
+		int result = (block[position] & 0xFF) << 24
+				   | (block[position + 1] & 0xFF) << 16
+				   | (block[position + 2] & 0xFF) << 8
+				   | (block[position + 3] & 0xFF);
+		position += 4;
+		return result;
+	}
+
+	@Override
+	public long nextLong()
+	{
+		return ((long) nextInt() << 32) | (nextInt() & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public RandomSource split()
+	{
+		return new SecureRandomSource();
+	}
+
+}
@@ -0,0 +1,45 @@
+package passgen;
+
+import java.util.SplittableRandom;
+
+/**
+ * A deterministic RandomSource, for tests: two sources made with the
+ * same seed produce the same numbers, and so do the sources split off
+ * from them (as long as they're split in the same order). A single
+ * source isn't meant to be shared between threads.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class SeededRandomSource implements RandomSource
+{
+	private SplittableRandom random;	// the underlying generator
+
+	/**
+	 * Constructs a SeededRandomSource from the given seed.
+	 * @param seed - the seed to start from
+	 */
+	public SeededRandomSource(long seed)
+	{
+		random = new SplittableRandom(seed);
+	}
+
+	@Override
+	public long nextLong()
+	{
+		return random.nextLong();
+	}
+
+	@Override
+	public int nextInt(int bound)
+	{
+		return random.nextInt(bound);
+	}
+
+	@Override
+	public RandomSource split()
+	{
+		return new SeededRandomSource(random.nextLong());
+	}
+
+}
@@ -0,0 +1,64 @@
+package passgen;
+
+import java.util.SplittableRandom;
+
+/**
+ * A fast (but NOT cryptographically secure) RandomSource. Every
+ * thread that uses it gets its own SplittableRandom (split off from
+ * one shared root), so threads never contend over a single generator.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class SplittableRandomSource implements RandomSource
+{
+	private SplittableRandom root;		// the generator each thread's is split from
+	private ThreadLocal<SplittableRandom> perThread;	// each thread's generator
+
+	/**
+	 * Constructs a SplittableRandomSource with a randomly-seeded root.
+	 */
+	public SplittableRandomSource()
+	{
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Constructs a SplittableRandomSource from the given root.
+	 * @param root - the generator to split each thread's generator from
+	 */
+	private SplittableRandomSource(SplittableRandom root)
+	{
+		this.root = root;
+		perThread = ThreadLocal.withInitial(this::splitRoot);
+	}
+
+	/**
+	 * Helper function that splits a new generator off the root
+	 * (the root isn't thread-safe, so this is synchronized).
+	 * @return the new generator
+	 */
+	private synchronized SplittableRandom splitRoot()
+	{
+		return root.split();
+	}
+
+	@Override
+	public long nextLong()
+	{
+		return perThread.get().nextLong();
+	}
+
+	@Override
+	public int nextInt(int bound)
+	{
+		return perThread.get().nextInt(bound);
+	}
+
+	@Override
+	public RandomSource split()
+	{
+		return new SplittableRandomSource(splitRoot());
+	}
+
+}
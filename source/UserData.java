@@ -1,228 +1,368 @@
-package passgen;
-
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.PrintWriter;
-import java.nio.file.Paths;
-import java.util.Scanner;
-import java.util.ArrayList;
-
-/**
- * A class representing the User's Data for the Password Generator.
- * This will store information such as the user's name, preferences
- * and some other odds and ends that the generator can pull from to
- * create more "personal" passwords.
- * 
- * @author Connor Shugg
- * @version 2019-2-15
- */
-public class UserData
-{
-	private String filePath;			// the path to the save file
-	private String fileName;			// the name of the save file
-	
-	private String userName;			// name of the user
-	private ArrayList<String> favWords;	// a list of the user's
-										// "favorite words"	
-	
-	/**
-	 * Default constructor: Creates the UserData object,
-	 * and runs a method that searches for a save-file
-	 * to read previously-saved data from. If the file
-	 * isn't found, an "empty" UserData object is created.
-	 */
-	public UserData()
-	{
-		// create default UserData setup
-		userName = null;
-		favWords = new ArrayList<String>();
-		
-		// set up the file path/name for the userData file
-		fileName = "userData.txt";
-		filePath = Paths.get("").toAbsolutePath().toString()
-				 + "\\data\\" + fileName;
-		
-		// search for a save-file
-		loadUserData();
-	}
-	
-	
-	// -------------------- Getter Methods -------------------- //
-	/**
-	 * Getter method for the user's name
-	 * @return a string - the user's name
-	 */
-	public String getUserName()
-	{
-		return userName;
-	}
-
-	/**
-	 * Getter method for the user's favorite words.
-	 * @return an array of strings - the user's favorite words
-	 */
-	public String[] getFavWords()
-	{
-		return favWords.toArray(new String[favWords.size()]);
-	}
-	
-	/**
-	 * Determines if the UserData already has the given
-	 * word in its "favorite word" bank
-	 * @param word - the word to search for
-	 * @return a boolean indicating if the word was found
-	 */
-	public boolean hasFavWord(String word)
-	{
-		return favWords.contains(word);
-	}
-	
-	
-	// -------------------- Setter Methods -------------------- //
-	/**
-	 * Setter method for the user's name
-	 * @param name - the new userName
-	 */
-	public void setUserName(String name)
-	{
-		userName = name;
-	}
-	
-	/**
-	 * Adds a new word to the user's favorite word list
-	 * @param word - the new word to add to the list
-	 */
-	public void addFavWord(String word)
-	{
-		favWords.add(word);
-	}
-
-	/**
-	 * Empties all entries from the list of favorite words
-	 */
-	public void clearWords()
-	{
-		favWords.clear();
-	}
-	
-	
-	// ------------------ Loading and Saving ------------------ //
-	/**
-	 * Searches through the current directory for a userData
-	 * file, returning a pointer reference said file, if found.
-	 * Otherwise, null is returned
-	 * @return - a reference to the file, or null
-	 */
-	private File findUserFile()
-	{
-		File userFile = new File(filePath);
-		
-		// if the file found is indeed a FILE, return it
-		if (userFile.isFile())
-		{
-			return userFile;
-		}		
-		
-		// otherwise, the file must not have been found
-		return null;
-	}
-	
-	/**
-	 * Searches around for a specifically-named file
-	 * containing saved UserData. If it's found, the
-	 * file is loaded in and the data is restored.
-	 */
-	private void loadUserData()
-	{
-		// try to locate the file
-		File userFile = findUserFile();
-		
-		// if the file can be read from, read it!
-		// otherwise, the function will just exit.
-		try
-		{
-			Scanner scan = new Scanner(userFile);
-			
-			// read through the file and assign the
-			// data read to the UserData's fields
-			while (scan.hasNextLine())
-			{
-				// read line + split into comma-delimited parts
-				String[] pieces = scan.nextLine().split(",");
-				
-				// setting userName
-				if (pieces[0].equals("name"))
-				{
-					userName = pieces[1];
-				}
-				else if (pieces[0].equals("favWords"))
-				{
-					// loop through the rest of pieces[] and add
-					// them to the list of favWords
-					for (int i = 1; i < pieces.length; i++)
-					{
-						if (!favWords.contains(pieces[i]))
-						{ favWords.add(pieces[i]); }
-					}
-				}
-			}
-			
-			// close the scanner
-			scan.close();
-		}
-		catch (FileNotFoundException e) {
-			// do nothing... if the file isn't found
-			// or can't be read, no big deal, just
-			// build this UserData object from the
-			// ground up, and save it later
-		}
-	}
-	
-	/**
-	 * Searches for the userData file. If it's not found,
-	 * a file is created at the filePath, and the class's
-	 * fields are written to the file
-	 */
-	public void saveUserData()
-	{
-		// look for the file before doing anything
-		File userFile = findUserFile();
-		
-		// if it's not null, then a file was found
-		if (userFile != null)
-		{
-			// write each property to the file
-			try
-			{
-				// open a PrintWriter object
-				PrintWriter writer = new PrintWriter(filePath, "UTF-8");
-				
-				// write userName
-				if (userName != null)
-				{ writer.println("name," + userName); }
-				
-				// write each favorite word
-				String[] words = getFavWords();
-				if (words.length > 0)
-				{
-					writer.print("favWords,");
-					for (int i = 0; i < words.length - 1; i++)
-					{
-						writer.print(words[i] + ",");
-					}
-					writer.print(words[words.length - 1] + "\n");
-				}
-				
-				// close the writer
-				writer.close();
-			}
-			// if something fails, catch it!
-			catch (Exception e)
-			{
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
-		}
-	}
-
-}
+package passgen;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Scanner;
+import java.util.random.RandomGenerator;
+
+/**
+ * A class representing the User's Data for the Password Generator.
+ * This will store information such as the user's name, preferences
+ * and some other odds and ends that the generator can pull from to
+ * create more "personal" passwords.
+ * 
+ * @author Connor Shugg
+ * @version 2019-2-15
+ */
+public class UserData
+{
+	private String filePath;			// the path to the old (text) save file
+	private String fileName;			// the name of the old (text) save file
+	private UserDataStore store;		// reads and writes the binary save file
+										// (and logs each change made to it)
+	
+	private String userName;			// name of the user
+	private FavoriteWords favWords;		// the user's "favorite words"
+										// (indexed, for quick lookups)
+	
+	/**
+	 * Default constructor: Creates the UserData object,
+	 * and runs a method that searches for a save-file
+	 * to read previously-saved data from. If the file
+	 * isn't found, an "empty" UserData object is created.
+	 */
+	public UserData()
+	{
+		// create default UserData setup
+		userName = null;
+		favWords = new FavoriteWords();
+		
+		// set up the file path/name for the userData file
+		fileName = "userData.txt";
+		filePath = getDataFolder().getPath() + File.separator + fileName;
+		store = new UserDataStore(new File(getDataFolder(), "userData.bin"));
+		
+		// search for a save-file
+		loadUserData();
+	}
+	
+	
+	// -------------------- Getter Methods -------------------- //
+	/**
+	 * Getter method for the user's name
+	 * @return a string - the user's name
+	 */
+	public String getUserName()
+	{
+		return userName;
+	}
+
+	/**
+	 * Getter method for the user's favorite words. (This copies
+	 * every word; use getFavWordCount() and getFavWord() to go
+	 * through them without copying.)
+	 * @return an array of strings - the user's favorite words
+	 */
+	public String[] getFavWords()
+	{
+		return favWords.toArray();
+	}
+	
+	/**
+	 * Getter method for the number of favorite words the
+	 * user has.
+	 * @return the number of favorite words
+	 */
+	public int getFavWordCount()
+	{
+		return favWords.size();
+	}
+	
+	/**
+	 * Getter method for a single favorite word (without
+	 * copying the whole list, like getFavWords() does).
+	 * Positions are only good until the words are changed.
+	 * @param index - the position of the word (0 to getFavWordCount() - 1)
+	 * @return a string - the favorite word at that position
+	 */
+	public String getFavWord(int index)
+	{
+		return favWords.get(index);
+	}
+	
+	/**
+	 * Getter method for the weight of a single favorite word
+	 * (how strongly it's favored when words are picked).
+	 * @param index - the position of the word (0 to getFavWordCount() - 1)
+	 * @return the word's weight
+	 */
+	public double getFavWordWeight(int index)
+	{
+		return favWords.getWeight(index);
+	}
+	
+	/**
+	 * Getter method for the chance that getRandomFavWord() picks
+	 * the favorite word at the given position.
+	 * @param index - the position of the word (0 to getFavWordCount() - 1)
+	 * @return the probability, from 0 to 1
+	 */
+	public double getFavWordProbability(int index)
+	{
+		return favWords.getProbability(index);
+	}
+	
+	/**
+	 * Getter method for a number that changes whenever the user's
+	 * favorite words do (so anything worked out from them can tell
+	 * when it needs working out again).
+	 * @return the favorite words' current version
+	 */
+	public int getFavWordVersion()
+	{
+		return favWords.getVersion();
+	}
+	
+	/**
+	 * Picks the position of one of the user's favorite words at
+	 * random, with each word's chance in proportion to its weight.
+	 * @param random - the random number generator to use
+	 * @return the position of a favorite word, or -1 if there are none
+	 */
+	public int getRandomFavWord(RandomGenerator random)
+	{
+		return favWords.sample(random);
+	}
+	
+	/**
+	 * Determines if the UserData already has the given
+	 * word in its "favorite word" bank
+	 * @param word - the word to search for
+	 * @return a boolean indicating if the word was found
+	 */
+	public boolean hasFavWord(String word)
+	{
+		return favWords.contains(word);
+	}
+	
+	/**
+	 * Getter method for the folder the user's save files are kept
+	 * in (the "data" folder, in the current directory)
+	 * @return the data folder
+	 */
+	public File getDataFolder()
+	{
+		return new File(Paths.get("").toAbsolutePath().toString()
+						+ File.separator + "data");
+	}
+	
+	
+	// -------------------- Setter Methods -------------------- //
+	/**
+	 * Setter method for the user's name
+	 * @param name - the new userName
+	 */
+	public void setUserName(String name)
+	{
+		userName = name;
+		store.logName(name);
+	}
+	
+	/**
+	 * Adds a new word to the user's favorite word list
+	 * (unless it's already there)
+	 * @param word - the new word to add to the list
+	 * @return a boolean indicating if the word was added
+	 */
+	public boolean addFavWord(String word)
+	{
+		return addFavWord(word, 1);
+	}
+	
+	/**
+	 * Adds a new word to the user's favorite word list, with the
+	 * given weight (unless it's already there)
+	 * @param word - the new word to add to the list
+	 * @param weight - how strongly to favor the word (1 is normal)
+	 * @return a boolean indicating if the word was added
+	 */
+	public boolean addFavWord(String word, double weight)
+	{
+		if (!favWords.add(word, weight))
+		{ return false; }
+		store.logWord(UserDataStore.RECORD_ADD, word, weight);
+		return true;
+	}
+	
+	/**
+	 * Changes how strongly one of the user's favorite words is favored
+	 * @param word - the word to change
+	 * @param weight - the word's new weight (1 is normal)
+	 * @return a boolean indicating if the word was found
+	 */
+	public boolean setFavWordWeight(String word, double weight)
+	{
+		if (!favWords.setWeight(word, weight))
+		{ return false; }
+		store.logWord(UserDataStore.RECORD_WEIGHT, word, weight);
+		return true;
+	}
+	
+	/**
+	 * Removes a word from the user's favorite word list
+	 * @param word - the word to remove
+	 * @return a boolean indicating if the word was there to remove
+	 */
+	public boolean removeFavWord(String word)
+	{
+		if (!favWords.remove(word))
+		{ return false; }
+		store.logRemove(word);
+		return true;
+	}
+
+	/**
+	 * Empties all entries from the list of favorite words
+	 */
+	public void clearWords()
+	{
+		favWords.clear();
+		store.logClear();
+	}
+	
+	
+	// ------------------ Loading and Saving ------------------ //
+	/**
+	 * Searches through the current directory for the old, text-based
+	 * userData file, returning a pointer reference said file, if found.
+	 * Otherwise, null is returned
+	 * @return - a reference to the file, or null
+	 */
+	private File findUserFile()
+	{
+		File userFile = new File(filePath);
+		
+		// if the file found is indeed a FILE, return it
+		if (userFile.isFile())
+		{
+			return userFile;
+		}		
+		
+		// otherwise, the file must not have been found
+		return null;
+	}
+	
+	/**
+	 * Searches around for a specifically-named file
+	 * containing saved UserData. If it's found, the
+	 * file is loaded in and the data is restored. The
+	 * binary save file is tried first; if there isn't
+	 * one (or it's damaged), the old text file is read
+	 * instead, and the next save moves it to the binary
+	 * format.
+	 */
+	private void loadUserData()
+	{
+		try
+		{
+			if (store.load(this))
+			{ return; }
+		}
+		catch (IOException e)
+		{
+			// a damaged save file is set aside (rather than being
+			// saved over), and whatever was read from it is dropped
+			setAsideSaveFile();
+			userName = null;
+			favWords.clear();
+		}
+		
+		// try to locate the old text file
+		File userFile = findUserFile();
+		if (userFile == null)
+		{ return; }
+		
+		// if the file can be read from, read it!
+		// otherwise, the function will just exit.
+		try
+		{
+			Scanner scan = new Scanner(userFile, "UTF-8");
+			
+			// read through the file and assign the
+			// data read to the UserData's fields
+			while (scan.hasNextLine())
+			{
+				// read line + split into comma-delimited parts
+				String[] pieces = scan.nextLine().split(",");
+				
+				// setting userName
+				if (pieces[0].equals("name"))
+				{
+					userName = pieces[1];
+				}
+				else if (pieces[0].equals("favWords"))
+				{
+					// loop through the rest of pieces[] and add
+					// them to the list of favWords (repeats are skipped)
+					for (int i = 1; i < pieces.length; i++)
+					{ favWords.add(pieces[i]); }
+				}
+			}
+			
+			// close the scanner
+			scan.close();
+		}
+		catch (FileNotFoundException e) {
+			// do nothing... if the file isn't found
+			// or can't be read, no big deal, just
+			// build this UserData object from the
+			// ground up, and save it later
+		}
+	}
+	
+	/**
+	 * Saves the changes made since the last save. Usually
+	 * they're just appended to the save file's log; now and
+	 * then (or if there's no binary save file yet) the whole
+	 * of the class's fields are written to a new save file
+	 * instead (creating it, and the data folder, if need be).
+	 * The old file is only replaced once the new one is fully
+	 * written, so a failed save never loses the last one.
+	 */
+	public void saveUserData()
+	{
+		try
+		{
+			store.save(this);
+		}
+		// if something fails, catch it!
+		catch (IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Helper function that renames a damaged save file (to
+	 * "userData.bin.corrupt"), so it can be looked at later
+	 * instead of being saved over.
+	 */
+	private void setAsideSaveFile()
+	{
+		File saveFile = store.getFile();
+		try
+		{
+			Files.move(saveFile.toPath(), new File(saveFile.getPath() + ".corrupt").toPath(),
+					   StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+}
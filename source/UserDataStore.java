@@ -0,0 +1,545 @@
+package passgen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Saves and loads UserData in a compact binary file. The layout is:
+ *
+ *   header    magic, version, payload size, CRC32 of the payload
+ *   payload   whether there's a name, then the name
+ *             the number of favorite words, then each word and its weight
+ *
+ * Strings are stored as their UTF-8 length followed by the UTF-8
+ * bytes, so loading is one read of the file and a pass over it, with
+ * no parsing or escaping. The checksum catches a damaged file before
+ * any of it is used. Saves are written to a temporary file, which is
+ * then renamed over the old one, so a crash part-way through a save
+ * leaves the old file as it was.
+ *
+ * Rewriting the whole file every time a word is added would make each
+ * save cost as much as the number of words, so changes are journaled
+ * instead. UserData reports each change (a name set, a word added,
+ * reweighted or removed, or the words cleared) as it happens, and a
+ * save appends just those changes to a log file next to the snapshot:
+ *
+ *   header    magic, version, checksum of the snapshot it follows on from
+ *   records   each as its size, a CRC32, then a type and its details
+ *
+ * Loading reads the snapshot, then replays the log on top of it. A
+ * record cut short by a crash (or otherwise damaged) ends the replay,
+ * and the log is cut back to the last good record. Once the log grows
+ * bigger than the snapshot, the next save compacts it: a new snapshot
+ * is written, then the log is started afresh. A log whose header names
+ * a different snapshot (because a crash came between those two steps)
+ * is already part of the snapshot, and is thrown away.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class UserDataStore
+{
+	static final int MAGIC = 0x53505544;	// "SPUD"
+	static final int VERSION = 1;			// the current format version
+	static final int HEADER_SIZE = 16;		// the size of the header, in bytes
+
+	static final int LOG_MAGIC = 0x5350554C;	// "SPUL"
+	static final int LOG_HEADER_SIZE = 12;		// the size of the log's header, in bytes
+	static final int MIN_COMPACT_SIZE = 65536;	// the smallest a log gets before it's
+												// compacted (however small the snapshot)
+
+	// the types of log records
+	static final byte RECORD_NAME = 1;		// the user's name was set
+	static final byte RECORD_ADD = 2;		// a favorite word was added
+	static final byte RECORD_WEIGHT = 3;	// a favorite word's weight was changed
+	static final byte RECORD_REMOVE = 4;	// a favorite word was removed
+	static final byte RECORD_CLEAR = 5;		// every favorite word was removed
+
+	private File file;					// the binary save file (the snapshot)
+	private File logFile;				// the log of changes since the snapshot
+	private int snapshotChecksum;		// the checksum of the snapshot's payload
+	private long snapshotSize;			// the size of the snapshot, in bytes
+	private long logSize;				// the size of the log, in bytes (0 if
+										// there isn't one yet)
+	private boolean loading;			// whether changes are coming from load()
+										// (and so shouldn't be logged again)
+
+	private ByteArrayOutputStream record;	// the record being written
+	private DataOutputStream recordOut;		// (writes into 'record')
+	private ByteArrayOutputStream pending;	// records not yet appended to the log
+	private DataOutputStream pendingOut;	// (writes into 'pending')
+
+	/**
+	 * Constructs a UserDataStore for the given save file. The log is
+	 * kept next to it, with ".log" in place of its extension.
+	 * @param f - the file to save to and load from
+	 */
+	public UserDataStore(File f)
+	{
+		file = f;
+		String name = f.getName();
+		int dot = name.lastIndexOf('.');
+		logFile = new File(f.getParentFile(), (dot > 0 ? name.substring(0, dot) : name) + ".log");
+
+		snapshotChecksum = 0;
+		snapshotSize = 0;
+		logSize = 0;
+		loading = false;
+		record = new ByteArrayOutputStream();
+		recordOut = new DataOutputStream(record);
+		pending = new ByteArrayOutputStream();
+		pendingOut = new DataOutputStream(pending);
+	}
+
+	/**
+	 * Retrieves the file the store saves to.
+	 * @return the save file
+	 */
+	public File getFile()
+	{
+		return file;
+	}
+
+	/**
+	 * Retrieves the file changes are logged to between snapshots.
+	 * @return the log file
+	 */
+	public File getLogFile()
+	{
+		return logFile;
+	}
+
+	/**
+	 * Retrieves the number of bytes of changes waiting for the
+	 * next save.
+	 * @return the size of the unsaved changes, in bytes
+	 */
+	public int getPendingSize()
+	{
+		return pending.size();
+	}
+
+
+	// ------------------ Loading and Saving ------------------ //
+	/**
+	 * Loads the save file into the given UserData (adding to what's
+	 * already there), then replays the log of changes made since.
+	 * @param user - the UserData to fill in
+	 * @return a boolean - false if there's no save file yet
+	 * @throws IOException if the file can't be read, or is damaged
+	 */
+	public boolean load(UserData user) throws IOException
+	{
+		pending.reset();
+		if (!file.isFile())
+		{ return false; }
+
+		loading = true;
+		try
+		{
+			loadSnapshot(user);
+			replayLog(user);
+		}
+		finally
+		{
+			loading = false;
+		}
+		return true;
+	}
+
+	/**
+	 * Helper function that reads the snapshot into the given UserData.
+	 * @param user - the UserData to fill in
+	 * @throws IOException if the file can't be read, or is damaged
+	 */
+	private void loadSnapshot(UserData user) throws IOException
+	{
+		ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+		try
+		{
+			// check the header and the checksum before reading anything
+			if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC)
+			{ throw new IOException("Not a user data file: " + file); }
+			int version = in.getInt();
+			if (version != VERSION)
+			{ throw new IOException("Unsupported user data version " + version + ": " + file); }
+			int payloadSize = in.getInt();
+			int checksum = in.getInt();
+			if (payloadSize != in.remaining())
+			{ throw new IOException("User data file is truncated: " + file); }
+			CRC32 crc = new CRC32();
+			crc.update(in.duplicate());
+			if ((int) crc.getValue() != checksum)
+			{ throw new IOException("User data file is damaged (bad checksum): " + file); }
+			snapshotChecksum = checksum;
+			snapshotSize = in.limit();
+
+			// then read the payload
+			if (in.get() != 0)
+			{ user.setUserName(readString(in)); }
+			int count = in.getInt();
+			for (int i = 0; i < count; i++)
+			{
+				String word = readString(in);
+				user.addFavWord(word, in.getDouble());
+			}
+		}
+		catch (BufferUnderflowException | IllegalArgumentException e)
+		{
+			throw new IOException("User data file is damaged: " + file);
+		}
+	}
+
+	/**
+	 * Helper function that replays the log on top of the snapshot
+	 * that's just been loaded. The replay stops at the first record
+	 * that's cut short or damaged, and the log is cut back to end
+	 * there (so later records aren't appended after a bad one).
+	 * @param user - the UserData to apply the changes to
+	 * @throws IOException if the log can't be read or cut back
+	 */
+	private void replayLog(UserData user) throws IOException
+	{
+		logSize = 0;
+		if (!logFile.isFile())
+		{ return; }
+
+		// a log that doesn't follow on from this snapshot is
+		// already part of it (or isn't a log at all)
+		ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(logFile.toPath()));
+		if (in.remaining() < LOG_HEADER_SIZE || in.getInt() != LOG_MAGIC
+			|| in.getInt() != VERSION || in.getInt() != snapshotChecksum)
+		{
+			Files.delete(logFile.toPath());
+			return;
+		}
+
+		// apply each record, up to the first bad one
+		int goodEnd = in.position();
+		CRC32 crc = new CRC32();
+		while (in.remaining() >= 8)
+		{
+			int size = in.getInt();
+			int checksum = in.getInt();
+			if (size <= 0 || size > in.remaining())
+			{ break; }
+			ByteBuffer body = in.slice(in.position(), size);
+			crc.reset();
+			crc.update(body.duplicate());
+			if ((int) crc.getValue() != checksum || !applyRecord(user, body))
+			{ break; }
+			in.position(in.position() + size);
+			goodEnd = in.position();
+		}
+
+		if (goodEnd < in.limit())
+		{
+			try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.WRITE))
+			{ channel.truncate(goodEnd); }
+		}
+		logSize = goodEnd;
+	}
+
+	/**
+	 * Helper function that applies a single log record.
+	 * @param user - the UserData to apply the change to
+	 * @param in - the record's contents
+	 * @return a boolean - false if the record couldn't be read
+	 */
+	private static boolean applyRecord(UserData user, ByteBuffer in)
+	{
+		try
+		{
+			switch (in.get())
+			{
+				case RECORD_NAME:
+					user.setUserName(in.get() != 0 ? readString(in) : null);
+					break;
+				case RECORD_ADD:
+					user.addFavWord(readString(in), in.getDouble());
+					break;
+				case RECORD_WEIGHT:
+					user.setFavWordWeight(readString(in), in.getDouble());
+					break;
+				case RECORD_REMOVE:
+					user.removeFavWord(readString(in));
+					break;
+				case RECORD_CLEAR:
+					user.clearWords();
+					break;
+				default:
+					return false;
+			}
+		}
+		catch (IOException | BufferUnderflowException | IllegalArgumentException e)
+		{
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Saves the given UserData. Usually this just appends the changes
+	 * made since the last save to the log; if there's no snapshot yet,
+	 * or the log has grown bigger than the snapshot, the log is
+	 * compacted instead.
+	 * @param user - the UserData to save
+	 * @throws IOException if the file can't be written
+	 */
+	public void save(UserData user) throws IOException
+	{
+		if (!file.isFile() || logSize + pending.size() > Math.max(MIN_COMPACT_SIZE, snapshotSize))
+		{
+			compact(user);
+			return;
+		}
+		if (pending.size() == 0)
+		{ return; }
+
+		// a snapshot saved without a log starts one here
+		ByteBuffer buffer;
+		if (logSize == 0)
+		{
+			buffer = ByteBuffer.allocate(LOG_HEADER_SIZE + pending.size());
+			buffer.putInt(LOG_MAGIC).putInt(VERSION).putInt(snapshotChecksum);
+		}
+		else
+		{ buffer = ByteBuffer.allocate(pending.size()); }
+		buffer.put(pending.toByteArray()).flip();
+
+		try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE,
+													StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+		{
+			while (buffer.hasRemaining())
+			{ channel.write(buffer); }
+			channel.force(false);
+		}
+		logSize += buffer.limit();
+		pending.reset();
+	}
+
+	/**
+	 * Writes the whole of the given UserData as a new snapshot (creating
+	 * its folder, if need be), then starts the log afresh.
+	 * @param user - the UserData to save
+	 * @throws IOException if the files can't be written
+	 */
+	public void compact(UserData user) throws IOException
+	{
+		// lay out the payload
+		int count = user.getFavWordCount();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + 16 + count * 20);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(0);	// the payload size and checksum
+		out.writeInt(0);	// are filled in below
+		String name = user.getUserName();
+		out.writeByte(name != null ? 1 : 0);
+		if (name != null)
+		{ writeString(out, name); }
+		out.writeInt(count);
+		for (int i = 0; i < count; i++)
+		{
+			writeString(out, user.getFavWord(i));
+			out.writeDouble(user.getFavWordWeight(i));
+		}
+		out.flush();
+
+		// fill in the header
+		ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), HEADER_SIZE, buffer.limit() - HEADER_SIZE);
+		buffer.putInt(8, buffer.limit() - HEADER_SIZE);
+		buffer.putInt(12, (int) crc.getValue());
+		writeAtomically(file, buffer.array());
+		snapshotChecksum = (int) crc.getValue();
+		snapshotSize = buffer.limit();
+
+		// the old log is part of the snapshot now
+		ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+		header.putInt(LOG_MAGIC).putInt(VERSION).putInt(snapshotChecksum);
+		writeAtomically(logFile, header.array());
+		logSize = LOG_HEADER_SIZE;
+		pending.reset();
+	}
+
+
+	// ------------------- Logging Changes -------------------- //
+	/**
+	 * Notes that the user's name was set.
+	 * @param name - the new name (or null)
+	 */
+	void logName(String name)
+	{
+		if (startRecord(RECORD_NAME))
+		{
+			try
+			{
+				recordOut.writeByte(name != null ? 1 : 0);
+				if (name != null)
+				{ writeString(recordOut, name); }
+			}
+			catch (IOException e)
+			{ throw new UncheckedIOException(e); }
+			finishRecord();
+		}
+	}
+
+	/**
+	 * Notes that a favorite word was added, or had its weight changed.
+	 * @param type - RECORD_ADD or RECORD_WEIGHT
+	 * @param word - the word
+	 * @param weight - the word's weight
+	 */
+	void logWord(byte type, String word, double weight)
+	{
+		if (startRecord(type))
+		{
+			try
+			{
+				writeString(recordOut, word);
+				recordOut.writeDouble(weight);
+			}
+			catch (IOException e)
+			{ throw new UncheckedIOException(e); }
+			finishRecord();
+		}
+	}
+
+	/**
+	 * Notes that a favorite word was removed.
+	 * @param word - the word
+	 */
+	void logRemove(String word)
+	{
+		if (startRecord(RECORD_REMOVE))
+		{
+			try
+			{ writeString(recordOut, word); }
+			catch (IOException e)
+			{ throw new UncheckedIOException(e); }
+			finishRecord();
+		}
+	}
+
+	/**
+	 * Notes that every favorite word was removed.
+	 */
+	void logClear()
+	{
+		if (startRecord(RECORD_CLEAR))
+		{ finishRecord(); }
+	}
+
+	/**
+	 * Helper function that starts a new record of the given type
+	 * (unless the change is being replayed by load()).
+	 * @param type - the type of record
+	 * @return a boolean - false if the change shouldn't be logged
+	 */
+	private boolean startRecord(byte type)
+	{
+		if (loading)
+		{ return false; }
+		record.reset();
+		record.write(type);
+		return true;
+	}
+
+	/**
+	 * Helper function that frames the current record (with its size
+	 * and checksum) and adds it to the changes waiting to be saved.
+	 */
+	private void finishRecord()
+	{
+		CRC32 crc = new CRC32();
+		crc.update(record.toByteArray());
+		try
+		{
+			pendingOut.writeInt(record.size());
+			pendingOut.writeInt((int) crc.getValue());
+			record.writeTo(pendingOut);
+		}
+		catch (IOException e)
+		{ throw new UncheckedIOException(e); }
+	}
+
+	/**
+	 * Writes a whole file by writing a temporary file next to it
+	 * (and making sure it's on disk), then renaming that over the
+	 * real one (atomically, where the file system allows it).
+	 * @param target - the file to write
+	 * @param contents - what to write to it
+	 * @throws IOException if the file can't be written
+	 */
+	static void writeAtomically(File target, byte[] contents) throws IOException
+	{
+		Path path = target.toPath().toAbsolutePath();
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.createDirectories(path.getParent());
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+													StandardOpenOption.WRITE,
+													StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			ByteBuffer buffer = ByteBuffer.wrap(contents);
+			while (buffer.hasRemaining())
+			{ channel.write(buffer); }
+			channel.force(false);
+		}
+		try
+		{
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+					   StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e)
+		{
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Helper function that writes a string as its UTF-8 length,
+	 * followed by its UTF-8 bytes.
+	 * @param out - where to write the string
+	 * @param s - the string to write
+	 * @throws IOException if the string can't be written
+	 */
+	static void writeString(DataOutputStream out, String s) throws IOException
+	{
+		byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(utf8.length);
+		out.write(utf8);
+	}
+
+	/**
+	 * Helper function that reads a string written by writeString().
+	 * @param in - the buffer to read from
+	 * @return the string
+	 * @throws IOException if the length is impossible
+	 */
+	static String readString(ByteBuffer in) throws IOException
+	{
+		int length = in.getInt();
+		if (length < 0 || length > in.remaining())
+		{ throw new IOException("User data file is damaged (bad string length)"); }
+		String s = new String(in.array(), in.arrayOffset() + in.position(), length,
+							  StandardCharsets.UTF_8);
+		in.position(in.position() + length);
+		return s;
+	}
+
+}
@@ -0,0 +1,199 @@
+package passgen;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A compact store for a large number of words. Rather than keeping
+ * every word as its own String object, all of the words are packed
+ * back-to-back (as UTF-8 bytes) into one byte array, with a table of
+ * int offsets marking where each word begins. A word only becomes a
+ * String when somebody asks for it.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class WordArena implements WordBank
+{
+	private byte[] data;				// every word's bytes, packed together
+	private int[] offsets;				// offsets[i] is where word i begins;
+										// offsets[count] is where the data ends
+	private int count;					// the number of words in the arena
+
+	/**
+	 * Constructs an empty WordArena with room for roughly the
+	 * given number of words/bytes (it grows as needed).
+	 * @param wordCapacity - the expected number of words
+	 * @param byteCapacity - the expected total size of the words, in bytes
+	 */
+	public WordArena(int wordCapacity, int byteCapacity)
+	{
+		data = new byte[Math.max(byteCapacity, 16)];
+		offsets = new int[Math.max(wordCapacity, 1) + 1];
+		count = 0;
+	}
+
+
+	// -------------------- Getter Methods -------------------- //
+	/**
+	 * Retrieves the number of words in the arena.
+	 * @return the word count
+	 */
+	@Override
+	public int getWordCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Retrieves the word at the given index, converting it to a String.
+	 * @param index - the index of the word (0 to getWordCount() - 1)
+	 * @return a string - the word at that index
+	 */
+	@Override
+	public String getWord(int index)
+	{
+		return new String(data, offsets[index], getLength(index), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Appends the word at the given index to a StringBuilder, without
+	 * making a String of it first.
+	 * @param index - the index of the word
+	 * @param sb - the StringBuilder to append to
+	 */
+	@Override
+	public void appendWord(int index, StringBuilder sb)
+	{
+		int start = offsets[index];
+		int end = offsets[index + 1];
+		
+		// plain ASCII words are copied straight in, a byte at a time;
+		// anything else has to go through a proper UTF-8 decode
+		for (int i = start; i < end; i++)
+		{
+			if (data[i] < 0)
+			{
+				sb.append(getWord(index));
+				return;
+			}
+		}
+		for (int i = start; i < end; i++)
+		{ sb.append((char) data[i]); }
+	}
+
+	/**
+	 * Retrieves the length of the word at the given index, in bytes.
+	 * @param index - the index of the word
+	 * @return the word's length in bytes
+	 */
+	@Override
+	public int getLength(int index)
+	{
+		return offsets[index + 1] - offsets[index];
+	}
+
+	/**
+	 * Estimates how much heap the arena is using (both arrays,
+	 * including their object headers).
+	 * @return the approximate footprint, in bytes
+	 */
+	@Override
+	public long getFootprint()
+	{
+		return (16L + data.length) + (16L + 4L * offsets.length);
+	}
+
+
+	/**
+	 * Retrieves the arena's packed word bytes (used when compiling
+	 * a word bank). Only exact once trim() has been called.
+	 * @return the byte array holding every word
+	 */
+	byte[] getData()
+	{
+		return data;
+	}
+
+	/**
+	 * Retrieves the arena's offset table (used when compiling a
+	 * word bank). Only exact once trim() has been called.
+	 * @return the array of word offsets (getWordCount() + 1 entries)
+	 */
+	int[] getOffsets()
+	{
+		return offsets;
+	}
+
+
+	// -------------------- Setter Methods -------------------- //
+	/**
+	 * Adds one word to the arena by copying a range of bytes.
+	 * ASCII upper-case letters are lowered on the way in.
+	 * @param src - the array holding the word's UTF-8 bytes
+	 * @param start - the index of the word's first byte
+	 * @param length - the number of bytes in the word
+	 */
+	public void addWord(byte[] src, int start, int length)
+	{
+		// grow either array if it's out of room
+		int end = offsets[count];
+		if (end + length > data.length)
+		{ data = Arrays.copyOf(data, Math.max(data.length * 2, end + length)); }
+		if (count + 2 > offsets.length)
+		{ offsets = Arrays.copyOf(offsets, offsets.length * 2); }
+
+		// copy the bytes over, lowering the case as we go
+		for (int i = 0; i < length; i++)
+		{
+			byte b = src[start + i];
+			if (b >= 'A' && b <= 'Z')
+			{ b += 'a' - 'A'; }
+			data[end + i] = b;
+		}
+
+		count++;
+		offsets[count] = end + length;
+	}
+
+	/**
+	 * Splits a block of text into lines and adds each non-blank
+	 * line to the arena as a word (surrounding whitespace, including
+	 * any '\r' from Windows line endings, is left out).
+	 * @param text - the UTF-8 contents of a word file
+	 */
+	public void addLines(byte[] text)
+	{
+		int lineStart = 0;
+		for (int i = 0; i <= text.length; i++)
+		{
+			if (i == text.length || text[i] == '\n')
+			{
+				// trim whitespace from both ends of the line (comparing
+				// unsigned, so UTF-8 bytes, which are negative as
+				// bytes, aren't taken for whitespace)
+				int start = lineStart;
+				int end = i;
+				while (start < end && (text[start] & 0xFF) <= ' ')
+				{ start++; }
+				while (end > start && (text[end - 1] & 0xFF) <= ' ')
+				{ end--; }
+
+				if (end > start)
+				{ addWord(text, start, end - start); }
+				lineStart = i + 1;
+			}
+		}
+	}
+
+	/**
+	 * Shrinks both arrays down to exactly the size they need
+	 * to be. Should be called once all words have been added.
+	 */
+	public void trim()
+	{
+		data = Arrays.copyOf(data, offsets[count]);
+		offsets = Arrays.copyOf(offsets, count + 1);
+	}
+
+}
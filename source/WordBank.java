@@ -0,0 +1,51 @@
+package passgen;
+
+/**
+ * An interface for anything that can hold a large, fixed list of
+ * words and hand back any one of them by its index. WordIndex uses
+ * one of these to store its words, whether they live on the heap or
+ * in a memory-mapped file.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public interface WordBank
+{
+	/**
+	 * Retrieves the number of words in the bank.
+	 * @return the word count
+	 */
+	int getWordCount();
+
+	/**
+	 * Retrieves the word at the given index, converting it to a String.
+	 * @param index - the index of the word (0 to getWordCount() - 1)
+	 * @return a string - the word at that index
+	 */
+	String getWord(int index);
+
+	/**
+	 * Appends the word at the given index to the end of the given
+	 * StringBuilder. Banks should override this to copy the word's
+	 * characters in directly, without creating a String for it.
+	 * @param index - the index of the word
+	 * @param sb - the StringBuilder to append to
+	 */
+	default void appendWord(int index, StringBuilder sb)
+	{
+		sb.append(getWord(index));
+	}
+
+	/**
+	 * Retrieves the length of the word at the given index, in bytes.
+	 * @param index - the index of the word
+	 * @return the word's length in bytes
+	 */
+	int getLength(int index);
+
+	/**
+	 * Estimates how much heap the bank is using.
+	 * @return the approximate footprint, in bytes
+	 */
+	long getFootprint();
+}
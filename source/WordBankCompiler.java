@@ -0,0 +1,139 @@
+package passgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A small build tool that turns the "data_words" text files into a
+ * single binary bank file (see CompiledWordBank for the layout), so
+ * the words don't have to be parsed every time the generator starts.
+ * Run it whenever the word files change:
+ *
+ *   java passgen.WordBankCompiler [word folder]
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class WordBankCompiler
+{
+	/**
+	 * Main method - compiles the word files in the given folder
+	 * (or "data_words", if none is given) into "words.bank".
+	 * @param args - the command-line arguments
+	 */
+	public static void main(String[] args)
+	{
+		String folder = args.length > 0 ? args[0] : "data_words";
+		String filePath = Paths.get(folder).toAbsolutePath().toString() + File.separator;
+		File bankFile = new File(filePath + "words.bank");
+
+		try
+		{
+			int count = compile(filePath, "words", 10, bankFile);
+			System.out.println("> Compiled " + count + " words into " + bankFile);
+		}
+		catch (IOException e)
+		{
+			System.out.println("! Couldn't compile the word bank: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads every word file and writes them all out as one bank file.
+	 * The file is written to a temporary file first and then moved
+	 * into place, so a half-written bank is never left behind.
+	 * @param filePath - the path to the folder containing the word files
+	 * @param filePrefix - the prefix at the front of all word files
+	 * @param fileCount - the number of word files to read
+	 * @param bankFile - the bank file to write
+	 * @return the number of words written
+	 * @throws IOException if the bank file can't be written
+	 */
+	public static int compile(String filePath, String filePrefix, int fileCount,
+							  File bankFile) throws IOException
+	{
+		// read every word file into an arena, remembering
+		// where each file's words begin
+		WordArena arena = new WordArena(fileCount * 1000, fileCount * 8000);
+		int[] sourceStarts = new int[fileCount];
+		for (int i = 0; i < fileCount; i++)
+		{
+			sourceStarts[i] = arena.getWordCount();
+			File wordFile = new File(filePath + filePrefix + i + ".txt");
+			if (wordFile.isFile())
+			{ arena.addLines(Files.readAllBytes(wordFile.toPath())); }
+		}
+		arena.trim();
+
+		byte[] data = arena.getData();
+		int[] offsets = arena.getOffsets();
+		int count = arena.getWordCount();
+
+		// sort the word indexes into buckets by length
+		int[][] sorted = WordIndex.bucketByLength(arena);
+		int[] bucketStarts = sorted[0];
+		int[] buckets = sorted[1];
+		int maxLength = bucketStarts.length - 2;
+
+		// lay out the whole file in one buffer
+		long[] fingerprint = fingerprint(filePath, filePrefix, fileCount);
+		int size = CompiledWordBank.HEADER_SIZE + 4 * fileCount + 4 * offsets.length
+				 + 4 * bucketStarts.length + 4 * buckets.length + data.length;
+		ByteBuffer out = ByteBuffer.allocate(size);
+		out.putInt(CompiledWordBank.MAGIC);
+		out.putInt(CompiledWordBank.VERSION);
+		out.putLong(fingerprint[0]);
+		out.putLong(fingerprint[1]);
+		out.putInt(count);
+		out.putInt(data.length);
+		out.putInt(maxLength);
+		out.putInt(fileCount);
+		out.asIntBuffer().put(sourceStarts);
+		out.position(out.position() + 4 * sourceStarts.length);
+		out.asIntBuffer().put(offsets);
+		out.position(out.position() + 4 * offsets.length);
+		out.asIntBuffer().put(bucketStarts);
+		out.position(out.position() + 4 * bucketStarts.length);
+		out.asIntBuffer().put(buckets);
+		out.position(out.position() + 4 * buckets.length);
+		out.put(data);
+
+		// write to a temporary file, then move it into place
+		Path target = bankFile.toPath().toAbsolutePath();
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		Files.write(temp, out.array());
+		Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+
+		return count;
+	}
+
+	/**
+	 * Computes a fingerprint of the word files, used to tell whether
+	 * a compiled bank is out of date: the newest modification time
+	 * among the files, and their total size.
+	 * @param filePath - the path to the folder containing the word files
+	 * @param filePrefix - the prefix at the front of all word files
+	 * @param fileCount - the number of word files
+	 * @return an array of {newest modification time, total size}
+	 */
+	static long[] fingerprint(String filePath, String filePrefix, int fileCount)
+	{
+		long[] result = {0, 0};
+		for (int i = 0; i < fileCount; i++)
+		{
+			File wordFile = new File(filePath + filePrefix + i + ".txt");
+			if (wordFile.isFile())
+			{
+				result[0] = Math.max(result[0], wordFile.lastModified());
+				result[1] += wordFile.length();
+			}
+		}
+		return result;
+	}
+
+}
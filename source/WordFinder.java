@@ -1,131 +1,373 @@
-package passgen;
-
-import java.io.File;
-import java.nio.file.Paths;
-import java.util.Scanner;
-import java.util.Random;
-
-/**
- * A class that deals entirely with generating random
- * words for the Generator class. This is accomplished
- * through multiple files containing hundreds of words.
- * 
- * @author Connor Shugg
- * @version 2019-2-15
- */
-public class WordFinder
-{
-	private Random rand;				// reference to the Random class, for finding
-										// random line numbers/words
-	private UserData user;				// reference to a UserData object - to use
-										// "favorite words" occasionally
-	
-	private String filePath;			// the path to the location of all the
-										// word-files (files used to find random words
-	private String filePrefix;			// the prefix at the front of all word files
-	private int fileCount;				// the number of word-containing files the
-										// generator can read from
-	
-	/**
-	 * Constructs a WordFinder object and sets up
-	 * the file information (path, prefix, number of
-	 * files to choose from, etc.)
-	 * @param ud - the UserData object to pull words from
-	 */
-	public WordFinder(UserData ud)
-	{
-		user = ud;
-		
-		// set up the random generator
-		rand = new Random();
-		
-		// set up the file path/prefixes
-		fileCount = 10;
-		filePrefix = "words";
-		filePath = Paths.get("").toAbsolutePath().toString()
-				 + "\\data_words\\";
-	}
-	
-	/**
-	 * Randomly chooses between different methods of finding
-	 * a random word, and carries it out, returning the word.
-	 * @return a string - the random word that was found
-	 */
-	public String getRandomWord()
-	{
-		// randomly select a way to find a word to return
-		int x = rand.nextInt(100);
-		
-		// CASE 1: pull from the User's "favorite word" database
-		// (as long as the user HAS favorite words)
-		if (x < 15 && user.getFavWords().length > 0)
-		{
-			String result = findUserWord();
-			return result;
-		}
-		
-		// DEFAULT CASE: use the normal strategy of searching
-		// through random word files
-		String result = findWord();
-		return result;
-	}
-	
-	
-	// ----------------- Word-finding Methods ----------------- //
-	/**
-	 * "Standard" word-finding method. Makes use of the filePath,
-	 * filePrefix, and fileCount to search a random file for a random
-	 * word.
-	 * @return a string - the random word found
-	 */
-	private String findWord()
-	{
-		// pick a random wordsX.txt file
-		int fileNum = rand.nextInt(fileCount);
-		File wordFile = new File(filePath + filePrefix + fileNum + ".txt");
-		
-		try
-		{		
-			// open a scanner on the file
-			Scanner scan = new Scanner(wordFile);
-			
-			// each word file should be <= 1000 lines long,
-			// so pick a random line number to travel to
-			int line = rand.nextInt(1001);
-			
-			String result = "";
-			for (int i = 0; i < line; i++)
-			{
-				if (scan.hasNextLine())
-				{
-					result = scan.nextLine();
-				}
-			}
-			
-			// close the scanner and return the resulting word
-			// (converting it to lower-case)
-			scan.close();			
-			return result.toLowerCase();
-		}
-		catch (Exception e)
-		{
-			return "fail";
-		}
-	}
-	
-	/**
-	 * Randomly selects from the UserData's "favorite words" to
-	 * return in getRandomWord().
-	 * @return a string - one of the user's favorite words
-	 */
-	private String findUserWord()
-	{
-		// retrieve the array of favorite words
-		String[] words = user.getFavWords();
-		
-		// randomly select an index, and return the word
-		// at that particular index (in lower-case letters)
-		return words[rand.nextInt(words.length)].toLowerCase();
-	}
-	
-}
+package passgen;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * A class that deals entirely with generating random
+ * words for the Generator class. This is accomplished
+ * through multiple files containing hundreds of words,
+ * which are loaded once into a shared WordIndex.
+ * 
+ * @author Connor Shugg
+ * @version 2019-2-15
+ */
+public class WordFinder
+{
+	private RandomSource rand;			// source of random numbers, for finding
+										// random words (when one isn't given)
+	private UserData user;				// reference to a UserData object - to use
+										// "favorite words" occasionally
+	
+	private WordIndex index;			// the index holding every word from
+										// the word files
+	private volatile FavoriteIds favoriteIds;	// which favorite words are also in
+												// the index (or null, until needed)
+	private HashMap<String, Integer> indexIds;	// every favorite word looked up in the
+												// index so far, and its index (or -1)
+	
+	private static final int FAVORITE_CHANCE = 15;	// the chance (out of 100) of
+													// trying a favorite word
+	
+	/**
+	 * Constructs a WordFinder object that pulls words from
+	 * the shared WordIndex (loading it, if it hasn't been
+	 * loaded yet)
+	 * @param ud - the UserData object to pull words from
+	 */
+	public WordFinder(UserData ud)
+	{
+		this(ud, WordIndex.getShared());
+	}
+	
+	/**
+	 * Constructs a WordFinder object that pulls words from
+	 * the given WordIndex
+	 * @param ud - the UserData object to pull words from
+	 * @param wi - the WordIndex to pull words from
+	 */
+	public WordFinder(UserData ud, WordIndex wi)
+	{
+		user = ud;
+		index = wi;
+		favoriteIds = null;
+		indexIds = new HashMap<String, Integer>();
+		
+		// set up the random number source
+		rand = RandomSource.pooled();
+	}
+	
+	/**
+	 * Randomly chooses between different methods of finding
+	 * a random word, and carries it out, returning the word.
+	 * @return a string - the random word that was found
+	 */
+	public String getRandomWord()
+	{
+		String result = getRandomWord(Integer.MAX_VALUE);
+		
+		// if no word files could be read, there's nothing to pick
+		if (result == null)
+		{ return "fail"; }
+		return result;
+	}
+	
+	/**
+	 * Randomly chooses between different methods of finding
+	 * a random word no longer than the given length, and carries
+	 * it out, returning the word.
+	 * @param maxLength - the longest the word is allowed to be
+	 * @return a string - the random word that was found, or null
+	 * 		   if no word is short enough
+	 */
+	public String getRandomWord(int maxLength)
+	{
+		return getRandomWord(maxLength, rand);
+	}
+	
+	/**
+	 * Same as getRandomWord(maxLength), but using the given random
+	 * number generator for every random choice. This lets several
+	 * threads share one WordFinder, each with its own generator.
+	 * @param maxLength - the longest the word is allowed to be
+	 * @param random - the random number generator to use
+	 * @return a string - the random word that was found, or null
+	 * 		   if no word is short enough
+	 */
+	public String getRandomWord(int maxLength, RandomGenerator random)
+	{
+		int word = drawWord(maxLength, random);
+		if (word < 0)
+		{ return null; }
+		
+		StringBuilder result = new StringBuilder();
+		appendWord(word, result);
+		return result.toString();
+	}
+	
+	/**
+	 * Randomly chooses between different methods of finding a random
+	 * word no longer than the given length, and returns that word's ID
+	 * (rather than the word itself). The ID can be handed to
+	 * appendWord() to add the word to a password without creating
+	 * a String for it. A word has the same ID however it was found:
+	 * a favorite word that's also in the word files gets the ID of
+	 * the word in the files, so two words spelled the same way are
+	 * always seen as the same word. IDs stay valid until the user's
+	 * favorite words are changed.
+	 * @param maxLength - the longest the word is allowed to be
+	 * @param random - the random number generator to use
+	 * @return the ID of the word that was found, or -1 if no
+	 * 		   word is short enough
+	 */
+	public int drawWord(int maxLength, RandomGenerator random)
+	{
+		// randomly select a way to find a word to return
+		int x = random.nextInt(100);
+		
+		// CASE 1: pull from the User's "favorite word" database
+		// (as long as the user HAS favorite words). If the word
+		// picked is too long, fall back to the word files. (Its
+		// length is measured in UTF-8 bytes, like the word files'.)
+		if (x < FAVORITE_CHANCE && user.getFavWordCount() > 0)
+		{
+			int result = findUserWord(random);
+			if (result >= 0 && getFavoriteIds().lengths[result] <= maxLength)
+			{ return getFavoriteId(result); }
+		}
+		
+		// DEFAULT CASE: use the normal strategy of searching
+		// through random word files
+		return findWord(maxLength, random);
+	}
+	
+	/**
+	 * Computes how surprising a word picked by drawWord() was: the
+	 * number of bits of entropy it adds to a password, counted from
+	 * getDrawChance().
+	 * @param word - the ID of the word (from drawWord())
+	 * @param maxLength - the maxLength given to drawWord()
+	 * @return the word's entropy, in bits
+	 */
+	public double getDrawBits(int word, int maxLength)
+	{
+		return -Generator.log2(getDrawChance(word, maxLength));
+	}
+	
+	/**
+	 * Computes how surprising a word was when drawWord() was called
+	 * over and over until it gave a word that isn't one of the
+	 * excluded words. The excluded words can't come up, so the chance
+	 * of the word that did is its chance on a single draw, divided by
+	 * the chance of not drawing an excluded word:
+	 * 		chance(word) / (1 - the sum of chance(excluded word))
+	 * Both chances are upper bounds (see getDrawChance()), so this never
+	 * overstates the bits either. With no weights and no favorites,
+	 * it's log2(the number of words that fit - the excluded words that
+	 * fit).
+	 * @param word - the ID of the word (from drawWord())
+	 * @param maxLength - the maxLength given to drawWord()
+	 * @param excluded - the IDs that were drawn again if they came up
+	 * 		  (not including 'word')
+	 * @return the word's entropy, in bits
+	 */
+	public double getDrawBits(int word, int maxLength, WordIdSet excluded)
+	{
+		double excludedChance = 0;
+		for (int i = 0; i < excluded.size(); i++)
+		{ excludedChance += getDrawChance(excluded.get(i), maxLength); }
+		if (excludedChance >= 1)
+		{ return 0; }
+		
+		double bits = -Generator.log2(getDrawChance(word, maxLength) / (1 - excludedChance));
+		return Math.max(0, bits);
+	}
+	
+	/**
+	 * Computes (an upper bound on) the chance that drawWord() picks
+	 * the given word. A favorite word is picked with probability
+	 * FAVORITE_CHANCE% times its share of the favorites' total weight.
+	 * A word from the word files is picked with probability at most its
+	 * chance in the word index (1 / the number of words that fit, unless
+	 * the word files are weighted) - it's a little less when the
+	 * favorites had a chance of being picked instead - so its chance is
+	 * counted as that, which never understates it. A word that's both a
+	 * favorite and in the files could have been picked either way, so
+	 * both chances are added up. A word too long to fit has no chance
+	 * (every word's length is measured in UTF-8 bytes, the same way
+	 * the word index measures it).
+	 * (Every word in the files is counted as a different word, even if
+	 * the same word shows up in more than one file.)
+	 * @param word - the ID of the word
+	 * @param maxLength - the maxLength given to drawWord()
+	 * @return the chance, from 0 to 1
+	 */
+	public double getDrawChance(int word, int maxLength)
+	{
+		int indexSize = index.getWordCount();
+		if (word >= indexSize)
+		{
+			if (getFavoriteIds().lengths[word - indexSize] > maxLength)
+			{ return 0; }
+			return FAVORITE_CHANCE / 100.0 * user.getFavWordProbability(word - indexSize);
+		}
+		
+		// a word in the files might also be a favorite
+		double chance = index.getDrawChance(word, maxLength);
+		FavoriteIds ids = getFavoriteIds();
+		if (chance == 0 || ids.favorites.isEmpty())
+		{ return chance; }
+		Integer favorite = ids.favorites.get(word);
+		if (favorite == null)
+		{ return chance; }
+		return chance + FAVORITE_CHANCE / 100.0 * user.getFavWordProbability(favorite);
+	}
+	
+	/**
+	 * Appends the word with the given ID (from drawWord()) to
+	 * the end of the given StringBuilder.
+	 * @param word - the ID of the word to append
+	 * @param sb - the StringBuilder to append to
+	 */
+	public void appendWord(int word, StringBuilder sb)
+	{
+		// IDs past the end of the word index belong to favorite words
+		int indexSize = index.getWordCount();
+		if (word < indexSize)
+		{ index.appendWord(word, sb); }
+		else
+		{ sb.append(user.getFavWord(word - indexSize).toLowerCase()); }
+	}
+	
+	
+	// ----------------- Word-finding Methods ----------------- //
+	/**
+	 * "Standard" word-finding method. Picks a random word out
+	 * of the WordIndex, from only the words that are short enough
+	 * (favoring some word files over others, if they're weighted).
+	 * @param maxLength - the longest the word is allowed to be
+	 * @param random - the random number generator to use
+	 * @return the ID of the random word found, or -1 if none fit
+	 */
+	private int findWord(int maxLength, RandomGenerator random)
+	{
+		return index.drawWordUpTo(maxLength, random);
+	}
+	
+	/**
+	 * Helper function that retrieves the ID of the favorite word at
+	 * the given position: the ID of the same word in the index, if
+	 * it's there, or an ID of its own past the end of the index.
+	 * @param position - the position of the favorite word
+	 * @return the word's ID
+	 */
+	private int getFavoriteId(int position)
+	{
+		int id = getFavoriteIds().indexIds[position];
+		return id >= 0 ? id : index.getWordCount() + position;
+	}
+	
+	/**
+	 * Helper function that retrieves which favorite words are also in
+	 * the index, working it out again if the favorites have changed.
+	 * Each favorite is only ever looked up in the index once, so after
+	 * a change, only the words that are new need looking up.
+	 * @return the current FavoriteIds
+	 */
+	private FavoriteIds getFavoriteIds()
+	{
+		FavoriteIds current = favoriteIds;
+		if (current != null && current.version == user.getFavWordVersion())
+		{ return current; }
+		
+		synchronized (this)
+		{
+			int version = user.getFavWordVersion();
+			int count = user.getFavWordCount();
+			
+			// look up any words that haven't been looked up before
+			ArrayList<String> unknown = new ArrayList<String>();
+			for (int i = 0; i < count; i++)
+			{
+				String word = user.getFavWord(i).toLowerCase();
+				if (!indexIds.containsKey(word))
+				{ unknown.add(word); }
+			}
+			if (!unknown.isEmpty())
+			{
+				String[] words = unknown.toArray(new String[unknown.size()]);
+				int[] found = index.findWords(words);
+				for (int i = 0; i < words.length; i++)
+				{ indexIds.put(words[i], found[i]); }
+			}
+			
+			// then match each position up with its index ID (and
+			// measure each word the way the word index does)
+			int[] ids = new int[count];
+			int[] lengths = new int[count];
+			HashMap<Integer, Integer> favorites = new HashMap<Integer, Integer>();
+			for (int i = 0; i < count; i++)
+			{
+				String word = user.getFavWord(i).toLowerCase();
+				lengths[i] = word.getBytes(StandardCharsets.UTF_8).length;
+				ids[i] = indexIds.get(word);
+				if (ids[i] >= 0)
+				{ favorites.putIfAbsent(ids[i], i); }
+			}
+			
+			current = new FavoriteIds(version, ids, lengths, favorites);
+			favoriteIds = current;
+			return current;
+		}
+	}
+	
+	/**
+	 * Randomly selects from the UserData's "favorite words" to
+	 * return in getRandomWord() (favoring heavier words).
+	 * @param random - the random number generator to use
+	 * @return the position of one of the user's favorite words,
+	 * 		   or -1 if none can be picked
+	 */
+	private int findUserWord(RandomGenerator random)
+	{
+		// randomly select a position in the list of favorite words
+		return user.getRandomFavWord(random);
+	}
+	
+	
+	// ------------------- Favorites' IDs -------------------- //
+	/**
+	 * Which of the user's favorite words are also in the word index
+	 * (and how long each one is), as of one version of the favorites. Never changed once it's made,
+	 * so it can be shared between threads.
+	 * 
+	 * @author Connor Shugg
+	 * @version 2026-10-17
+	 */
+	private static class FavoriteIds
+	{
+		final int version;							// the favorites' version
+		final int[] indexIds;						// each favorite's index ID (or -1)
+		final int[] lengths;						// each favorite's length, in UTF-8 bytes
+		final HashMap<Integer, Integer> favorites;	// each index ID that's also a
+													// favorite, and its position
+		
+		/**
+		 * Constructs a FavoriteIds
+		 * @param v - the favorites' version
+		 * @param ids - each favorite's index ID (or -1)
+		 * @param l - each favorite's length, in UTF-8 bytes
+		 * @param f - each index ID that's also a favorite, and its position
+		 */
+		FavoriteIds(int v, int[] ids, int[] l, HashMap<Integer, Integer> f)
+		{
+			version = v;
+			indexIds = ids;
+			lengths = l;
+			favorites = f;
+		}
+	}
+	
+}
@@ -0,0 +1,134 @@
+package passgen;
+
+import java.util.Arrays;
+
+/**
+ * A small set of word IDs (see WordFinder.drawWord()), used to keep
+ * track of which words have already gone into a password. It's an
+ * open-addressed hash table of ints, so checking for or adding a word
+ * is a quick probe with no objects created, and one set can be
+ * cleared and reused for every password. The IDs are also kept in
+ * the order they were added, so they can be gone through again.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class WordIdSet
+{
+	private static final int EMPTY = -1;	// marks an unused slot (IDs are never negative)
+
+	private int[] slots;				// the hash table
+	private int[] order;				// the IDs, in the order they were added
+	private int size;					// the number of IDs in the set
+
+	/**
+	 * Constructs an empty WordIdSet.
+	 */
+	public WordIdSet()
+	{
+		slots = new int[16];
+		Arrays.fill(slots, EMPTY);
+		order = new int[8];
+		size = 0;
+	}
+
+	/**
+	 * Retrieves the number of IDs in the set.
+	 * @return the ID count
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Retrieves the ID that was added in the given position.
+	 * @param position - the position (0 to size() - 1)
+	 * @return the ID
+	 */
+	public int get(int position)
+	{
+		return order[position];
+	}
+
+	/**
+	 * Determines whether the given word ID is in the set.
+	 * @param id - the word ID to look for
+	 * @return a boolean indicating whether the ID was found
+	 */
+	public boolean contains(int id)
+	{
+		int mask = slots.length - 1;
+		for (int i = hash(id) & mask; slots[i] != EMPTY; i = (i + 1) & mask)
+		{
+			if (slots[i] == id)
+			{ return true; }
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the given word ID to the set.
+	 * @param id - the word ID to add (must not be negative)
+	 * @return a boolean indicating whether the ID was added
+	 * 		   (false if it was already there)
+	 */
+	public boolean add(int id)
+	{
+		// keep the table at most half full
+		if (2 * (size + 1) > slots.length)
+		{ grow(); }
+
+		int mask = slots.length - 1;
+		int i = hash(id) & mask;
+		while (slots[i] != EMPTY)
+		{
+			if (slots[i] == id)
+			{ return false; }
+			i = (i + 1) & mask;
+		}
+		slots[i] = id;
+		order[size++] = id;
+		return true;
+	}
+
+	/**
+	 * Empties the set, so it can be reused.
+	 */
+	public void clear()
+	{
+		if (size > 0)
+		{
+			Arrays.fill(slots, EMPTY);
+			size = 0;
+		}
+	}
+
+	/**
+	 * Helper function that doubles the size of the table,
+	 * re-adding every ID (in the same order).
+	 */
+	private void grow()
+	{
+		int[] old = Arrays.copyOf(order, size);
+		slots = new int[slots.length * 2];
+		Arrays.fill(slots, EMPTY);
+		order = new int[slots.length / 2];
+		size = 0;
+		for (int id : old)
+		{ add(id); }
+	}
+
+	/**
+	 * Helper function that scrambles an ID's bits, so that
+	 * neighboring IDs don't land in neighboring slots.
+	 * @param id - the ID to hash
+	 * @return the hash
+	 */
+	private static int hash(int id)
+	{
+		int h = id * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
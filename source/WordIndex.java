@@ -0,0 +1,600 @@
+package passgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * A class that reads every word file once and keeps all of the
+ * words in a single table. Finding a random word is then just an
+ * array lookup, rather than opening and scanning a file each time.
+ * One shared index is used by every WordFinder (and therefore by
+ * every Generator). The words themselves are kept in a WordBank:
+ * either packed into a WordArena (for the usual word files), or
+ * read straight out of a memory-mapped dictionary file.
+ *
+ * The index also sorts its words into buckets by length, so a
+ * random word no longer than some limit can be picked in one step
+ * (words of length 1..L sit at the front of the buckets). Lengths
+ * are measured in bytes, which is never less than a word's length
+ * in characters, so a word that "fits" always really does fit.
+ *
+ * Each word file (or "source") can be given a weight, making its
+ * words more or less likely to be picked. Since the buckets are
+ * filled in word order, each length's bucket holds each source's
+ * words in one unbroken run; a weighted pick first chooses one of
+ * those runs from an AliasTable (one table per length limit), then
+ * a word from the run, so it's still just a couple of steps.
+ *
+ * @author Connor Shugg
+ * @version 2026-10-17
+ */
+public class WordIndex
+{
+	private static WordIndex shared;	// the index shared by all WordFinders
+
+	private WordBank words;				// every word from every word file
+	private long loadTime;				// how long loading took (milliseconds)
+	
+	private CompiledWordBank compiled;	// the compiled bank (if one was loaded),
+										// which already holds the length buckets
+	private int[] bucketStarts;			// where each length begins in the buckets
+	private int[] buckets;				// every word index, sorted by length
+	private int[] sourceStarts;			// the first word index from each source
+	private volatile SourceWeights weights;	// each source's weight (or null, if
+											// every word is equally likely)
+
+	/**
+	 * Constructs a WordIndex from the word files. If there's an
+	 * up-to-date compiled bank ("<prefix>.bank") next to the files,
+	 * that's mapped in instead; otherwise every word file is read
+	 * into memory.
+	 * @param filePath - the path to the folder containing the word files
+	 * @param filePrefix - the prefix at the front of all word files
+	 * @param fileCount - the number of word files to read
+	 */
+	public WordIndex(String filePath, String filePrefix, int fileCount)
+	{
+		long start = System.currentTimeMillis();
+		words = loadCompiled(filePath, filePrefix, fileCount);
+		if (words != null)
+		{ sourceStarts = ((CompiledWordBank) words).getSourceStarts(); }
+		else
+		{
+			sourceStarts = new int[fileCount];
+			words = loadText(filePath, filePrefix, fileCount, sourceStarts);
+		}
+		indexLengths();
+		loadTime = System.currentTimeMillis() - start;
+	}
+
+	/**
+	 * Helper function that tries to load a compiled bank for
+	 * the word files. The bank is only used if it's still up to
+	 * date with the text files (or if the text files are gone).
+	 * @param filePath - the path to the folder containing the word files
+	 * @param filePrefix - the prefix at the front of all word files
+	 * @param fileCount - the number of word files
+	 * @return the compiled bank, or null if it's missing, stale, or broken
+	 */
+	private static WordBank loadCompiled(String filePath, String filePrefix, int fileCount)
+	{
+		File bankFile = new File(filePath + filePrefix + ".bank");
+		if (!bankFile.isFile())
+		{ return null; }
+
+		try
+		{
+			CompiledWordBank bank = new CompiledWordBank(bankFile);
+			long[] fingerprint = WordBankCompiler.fingerprint(filePath, filePrefix, fileCount);
+			if (bank.matchesSources(fingerprint) || fingerprint[1] == 0)
+			{ return bank; }
+		}
+		catch (IOException e)
+		{
+			// a broken bank is treated the same as a missing
+			// one - the text files get read instead
+		}
+		return null;
+	}
+
+	/**
+	 * Helper function that reads every word file into a WordArena.
+	 * @param filePath - the path to the folder containing the word files
+	 * @param filePrefix - the prefix at the front of all word files
+	 * @param fileCount - the number of word files to read
+	 * @param starts - filled in with the index of each file's first word
+	 * @return the arena holding every word
+	 */
+	private static WordBank loadText(String filePath, String filePrefix, int fileCount,
+									 int[] starts)
+	{
+		WordArena arena = new WordArena(fileCount * 1000, fileCount * 8000);
+
+		// read every line of every file straight into the arena
+		for (int i = 0; i < fileCount; i++)
+		{
+			starts[i] = arena.getWordCount();
+			File wordFile = new File(filePath + filePrefix + i + ".txt");
+			try
+			{
+				arena.addLines(Files.readAllBytes(wordFile.toPath()));
+			}
+			catch (IOException e)
+			{
+				// a missing file just means fewer words to
+				// choose from - move on to the next one
+			}
+		}
+
+		arena.trim();
+		return arena;
+	}
+
+	/**
+	 * Constructs a WordIndex over a single (possibly very large)
+	 * dictionary file, which is memory-mapped rather than read.
+	 * @param dictionary - the file to use (one word per line)
+	 * @throws IOException if the file can't be mapped
+	 */
+	public WordIndex(File dictionary) throws IOException
+	{
+		long start = System.currentTimeMillis();
+		words = new MappedWordBank(dictionary);
+		sourceStarts = new int[] {0};
+		indexLengths();
+		loadTime = System.currentTimeMillis() - start;
+	}
+
+	/**
+	 * Helper function that sets up the length buckets. A compiled
+	 * bank already has them, so they're only built for other banks.
+	 */
+	private void indexLengths()
+	{
+		if (words instanceof CompiledWordBank)
+		{
+			compiled = (CompiledWordBank) words;
+			return;
+		}
+		
+		int[][] sorted = bucketByLength(words);
+		bucketStarts = sorted[0];
+		buckets = sorted[1];
+	}
+
+	/**
+	 * Sorts every word index in the given bank into buckets by length
+	 * (a counting sort). Words of length L end up between
+	 * bucketStarts[L] and bucketStarts[L + 1].
+	 * @param bank - the bank to sort
+	 * @return an array of {bucketStarts, buckets}
+	 */
+	static int[][] bucketByLength(WordBank bank)
+	{
+		int count = bank.getWordCount();
+		int maxLength = 0;
+		for (int i = 0; i < count; i++)
+		{ maxLength = Math.max(maxLength, bank.getLength(i)); }
+		
+		// count the words of each length, then add up the counts
+		// to find where each length begins
+		int[] bucketStarts = new int[maxLength + 2];
+		for (int i = 0; i < count; i++)
+		{ bucketStarts[bank.getLength(i) + 1]++; }
+		for (int len = 1; len < bucketStarts.length; len++)
+		{ bucketStarts[len] += bucketStarts[len - 1]; }
+		
+		// drop each word index into its bucket
+		int[] buckets = new int[count];
+		int[] next = bucketStarts.clone();
+		for (int i = 0; i < count; i++)
+		{ buckets[next[bank.getLength(i)]++] = i; }
+		
+		int[][] result = {bucketStarts, buckets};
+		return result;
+	}
+
+	/**
+	 * Gives each source (word file) a weight, so that its words are
+	 * picked by drawWordUpTo() more or less often: a word's chance is
+	 * in proportion to its source's weight. Passing null (or equal
+	 * weights) makes every word equally likely again.
+	 * @param w - one weight per source (none negative), or null
+	 * @throws IllegalArgumentException if there's the wrong number of
+	 * 		   weights, or one is negative
+	 */
+	public void setSourceWeights(double[] w)
+	{
+		if (w == null)
+		{
+			weights = null;
+			return;
+		}
+		if (w.length != sourceStarts.length)
+		{
+			throw new IllegalArgumentException("Expected " + sourceStarts.length
+											   + " source weights, but got " + w.length);
+		}
+
+		boolean equal = true;
+		for (double weight : w)
+		{
+			if (!(weight >= 0) || Double.isInfinite(weight))
+			{ throw new IllegalArgumentException("Source weights must be finite and non-negative"); }
+			equal &= weight == w[0];
+		}
+		weights = equal && w[0] > 0 ? null : new SourceWeights(w.clone());
+	}
+
+	/**
+	 * Retrieves the index shared by every WordFinder, loading
+	 * it from the default "data_words" folder the first time
+	 * it's needed.
+	 * @return the shared WordIndex
+	 */
+	public static synchronized WordIndex getShared()
+	{
+		if (shared == null)
+		{
+			String filePath = Paths.get("").toAbsolutePath().toString()
+							+ File.separator + "data_words" + File.separator;
+			shared = new WordIndex(filePath, "words", 10);
+		}
+		return shared;
+	}
+
+	/**
+	 * Replaces the index shared by every WordFinder. This should
+	 * be done before any Generators are created.
+	 * @param wi - the new shared WordIndex
+	 */
+	public static synchronized void setShared(WordIndex wi)
+	{
+		shared = wi;
+	}
+
+
+	// -------------------- Getter Methods -------------------- //
+	/**
+	 * Retrieves the number of sources (word files) the words came from.
+	 * @return the source count
+	 */
+	public int getSourceCount()
+	{
+		return sourceStarts.length;
+	}
+
+	/**
+	 * Retrieves the number of words in the index.
+	 * @return the word count
+	 */
+	public int getWordCount()
+	{
+		return words.getWordCount();
+	}
+
+	/**
+	 * Retrieves the word stored at the given index.
+	 * @param index - the index of the word (0 to getWordCount() - 1)
+	 * @return a string - the word at that index
+	 */
+	public String getWord(int index)
+	{
+		return words.getWord(index);
+	}
+
+	/**
+	 * Retrieves the number of words no longer than the given length.
+	 * @param maxLength - the longest word length allowed
+	 * @return the number of words that fit
+	 */
+	public int getWordCountUpTo(int maxLength)
+	{
+		if (maxLength < 0)
+		{ return 0; }
+		
+		if (compiled != null)
+		{ return compiled.getBucketStart(Math.min(maxLength, compiled.getMaxLength()) + 1); }
+		return bucketStarts[Math.min(maxLength + 1, bucketStarts.length - 1)];
+	}
+
+	/**
+	 * Retrieves the index of one of the words no longer than a given
+	 * length. The words of length 1..L are numbered 0 to
+	 * getWordCountUpTo(L) - 1.
+	 * @param position - the word's number (0 to getWordCountUpTo(L) - 1)
+	 * @return the index of the word at that position
+	 */
+	public int getWordIdUpTo(int position)
+	{
+		if (compiled != null)
+		{ return compiled.getBucketWord(position); }
+		return buckets[position];
+	}
+
+	/**
+	 * Retrieves one of the words no longer than a given length. The
+	 * words of length 1..L are numbered 0 to getWordCountUpTo(L) - 1.
+	 * @param position - the word's number (0 to getWordCountUpTo(L) - 1)
+	 * @return a string - the word at that position
+	 */
+	public String getWordUpTo(int position)
+	{
+		return words.getWord(getWordIdUpTo(position));
+	}
+
+	/**
+	 * Picks a random word no longer than the given length: uniformly,
+	 * or (if the sources have been given weights) with each word's
+	 * chance in proportion to its source's weight.
+	 * @param maxLength - the longest the word is allowed to be
+	 * @param random - the random number generator to use
+	 * @return the index of the word, or -1 if none can be picked
+	 */
+	public int drawWordUpTo(int maxLength, RandomGenerator random)
+	{
+		if (maxLength < 0)
+		{ return -1; }
+
+		SourceWeights current = weights;
+		if (current == null)
+		{
+			int fits = getWordCountUpTo(maxLength);
+			if (fits == 0)
+			{ return -1; }
+			return getWordIdUpTo(random.nextInt(fits));
+		}
+
+		int limit = Math.min(maxLength, getMaxLength());
+		AliasTable table = current.tables[limit];
+		if (table == null)
+		{ return -1; }
+		int run = table.sample(random);
+		return getWordIdUpTo(current.runStarts[limit][run]
+							 + random.nextInt(current.runSizes[limit][run]));
+	}
+
+	/**
+	 * Looks up words by their text: for each of the given words,
+	 * finds a word in the index spelled exactly the same way. Only
+	 * the length buckets the words could be in are searched (and
+	 * each of those just once, however many words are looked up),
+	 * so this is meant for the odd batch of lookups, not for every
+	 * password.
+	 * @param wanted - the words to look for
+	 * @return an array of the matching word indexes (in the same
+	 * 		   order), with -1 for words that aren't in the index
+	 */
+	public int[] findWords(String[] wanted)
+	{
+		int[] found = new int[wanted.length];
+		Arrays.fill(found, -1);
+
+		// figure out which lengths need searching
+		int maxLength = getMaxLength();
+		HashMap<String, Integer> matches = new HashMap<String, Integer>();
+		boolean[] lengths = new boolean[maxLength + 1];
+		for (String word : wanted)
+		{
+			int length = word.getBytes(StandardCharsets.UTF_8).length;
+			if (length <= maxLength)
+			{
+				lengths[length] = true;
+				matches.put(word, -1);
+			}
+		}
+
+		// then go through each of those buckets once
+		StringBuilder sb = new StringBuilder();
+		for (int length = 0; length <= maxLength; length++)
+		{
+			if (!lengths[length])
+			{ continue; }
+			for (int i = getBucketStart(length); i < getBucketStart(length + 1); i++)
+			{
+				int index = getWordIdUpTo(i);
+				sb.setLength(0);
+				words.appendWord(index, sb);
+				matches.replace(sb.toString(), -1, index);
+			}
+		}
+
+		for (int i = 0; i < wanted.length; i++)
+		{ found[i] = matches.getOrDefault(wanted[i], -1); }
+		return found;
+	}
+
+	/**
+	 * Computes how surprising a word picked by drawWordUpTo() was:
+	 * log2(1 / the chance of picking it). With no weights, that's
+	 * log2(number of words that fit).
+	 * @param index - the index of the word that was picked
+	 * @param maxLength - the maxLength given to drawWordUpTo()
+	 * @return the word's entropy, in bits
+	 */
+	public double getDrawBits(int index, int maxLength)
+	{
+		return -Generator.log2(getDrawChance(index, maxLength));
+	}
+
+	/**
+	 * Computes the chance that drawWordUpTo(maxLength) picks the given
+	 * word: 1 / the number of words that fit (with no weights), or the
+	 * word's share of the total weight of the words that fit.
+	 * @param index - the index of the word
+	 * @param maxLength - the maxLength given to drawWordUpTo()
+	 * @return the chance, from 0 (if the word doesn't fit) to 1
+	 */
+	public double getDrawChance(int index, int maxLength)
+	{
+		if (maxLength < 0 || words.getLength(index) > maxLength)
+		{ return 0; }
+
+		SourceWeights current = weights;
+		if (current == null)
+		{ return 1.0 / getWordCountUpTo(maxLength); }
+
+		int limit = Math.min(maxLength, getMaxLength());
+		AliasTable table = current.tables[limit];
+		if (table == null)
+		{ return 0; }
+		return current.weights[getSource(index)] / table.getTotalWeight();
+	}
+
+	/**
+	 * Helper function that finds which source a word came from.
+	 * (Empty sources start at the same index as the next source,
+	 * so the last source starting at or before the word is the one.)
+	 * @param index - the index of the word
+	 * @return the source's number
+	 */
+	private int getSource(int index)
+	{
+		int source = sourceStarts.length - 1;
+		while (source > 0 && sourceStarts[source] > index)
+		{ source--; }
+		return source;
+	}
+
+	/**
+	 * Helper function that retrieves the length of the longest word.
+	 * @return the longest word length, in bytes
+	 */
+	private int getMaxLength()
+	{
+		if (compiled != null)
+		{ return compiled.getMaxLength(); }
+		return bucketStarts.length - 2;
+	}
+
+	/**
+	 * Helper function that retrieves where the words of the given
+	 * length begin in the buckets.
+	 * @param length - the word length (0 to getMaxLength() + 1)
+	 * @return the position of the first word of that length
+	 */
+	private int getBucketStart(int length)
+	{
+		if (compiled != null)
+		{ return compiled.getBucketStart(length); }
+		return bucketStarts[length];
+	}
+
+	/**
+	 * Appends the word stored at the given index to the end of the
+	 * given StringBuilder, without creating a String for it.
+	 * @param index - the index of the word (0 to getWordCount() - 1)
+	 * @param sb - the StringBuilder to append to
+	 */
+	public void appendWord(int index, StringBuilder sb)
+	{
+		words.appendWord(index, sb);
+	}
+
+	/**
+	 * Determines whether the index's words came from a compiled bank.
+	 * @return a boolean indicating whether a compiled bank was loaded
+	 */
+	public boolean isCompiled()
+	{
+		return words instanceof CompiledWordBank;
+	}
+
+	/**
+	 * Estimates how much heap the index's words (and their
+	 * length buckets) are using.
+	 * @return the approximate footprint, in bytes
+	 */
+	public long getFootprint()
+	{
+		long footprint = words.getFootprint();
+		if (buckets != null)
+		{ footprint += (16L + 4L * bucketStarts.length) + (16L + 4L * buckets.length); }
+		return footprint;
+	}
+
+	/**
+	 * Retrieves how long it took to load the index.
+	 * @return the load time, in milliseconds
+	 */
+	public long getLoadTime()
+	{
+		return loadTime;
+	}
+
+
+	// -------------------- Source Weights -------------------- //
+	/**
+	 * The tables used for weighted picks. Within each length's bucket,
+	 * the words from each source sit in one run; for every length
+	 * limit L, there's an AliasTable over the runs of every length up
+	 * to L, each weighted by its size times its source's weight.
+	 * Once built, nothing here changes.
+	 *
+	 * @author Connor Shugg
+	 * @version 2026-10-17
+	 */
+	private class SourceWeights
+	{
+		private final double[] weights;		// each source's weight
+		private final AliasTable[] tables;	// a table for each length limit (or
+											// null, if no word that fits has weight)
+		private final int[][] runStarts;	// where each table's runs begin in the buckets
+		private final int[][] runSizes;		// how many words are in each run
+
+		/**
+		 * Constructs the tables for the given source weights.
+		 * @param w - one weight per source
+		 */
+		public SourceWeights(double[] w)
+		{
+			weights = w;
+			int maxLength = getMaxLength();
+			tables = new AliasTable[maxLength + 1];
+			runStarts = new int[maxLength + 1][];
+			runSizes = new int[maxLength + 1][];
+
+			// find every run (one per length and source), in order of
+			// length; each table is built from a prefix of this list
+			int[] starts = new int[(maxLength + 1) * w.length];
+			int[] sizes = new int[starts.length];
+			double[] runWeights = new double[starts.length];
+			int runCount = 0;
+			for (int length = 0; length <= maxLength; length++)
+			{
+				int end = getBucketStart(length + 1);
+				int position = getBucketStart(length);
+				while (position < end)
+				{
+					// the run goes on as long as the words are from one source
+					int source = getSource(getWordIdUpTo(position));
+					int runStart = position;
+					while (position < end && getSource(getWordIdUpTo(position)) == source)
+					{ position++; }
+
+					if (w[source] > 0)
+					{
+						starts[runCount] = runStart;
+						sizes[runCount] = position - runStart;
+						runWeights[runCount] = w[source] * (position - runStart);
+						runCount++;
+					}
+				}
+
+				if (runCount > 0)
+				{
+					tables[length] = new AliasTable(Arrays.copyOf(runWeights, runCount));
+					runStarts[length] = Arrays.copyOf(starts, runCount);
+					runSizes[length] = Arrays.copyOf(sizes, runCount);
+				}
+			}
+		}
+	}
+
+}